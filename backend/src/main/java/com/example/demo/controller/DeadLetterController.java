@@ -0,0 +1,84 @@
+package com.example.demo.controller;
+
+import com.example.demo.ingest.DeadLetter;
+import com.example.demo.ingest.DeadLetterService;
+import com.example.demo.ingest.DeadLetterStore;
+import com.example.demo.ingest.IngestStats;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/files/dead-letters")
+@CrossOrigin(origins = "*")
+public class DeadLetterController {
+
+    private final DeadLetterStore deadLetterStore;
+    private final DeadLetterService deadLetterService;
+
+    public DeadLetterController(DeadLetterStore deadLetterStore, DeadLetterService deadLetterService) {
+        this.deadLetterStore = deadLetterStore;
+        this.deadLetterService = deadLetterService;
+    }
+
+    // dead-letter 파일 목록 (적재 작업 ID 별)
+    @GetMapping
+    public ResponseEntity<List<Map<String, Object>>> getDeadLetterFiles() {
+        try {
+            return ResponseEntity.ok(deadLetterStore.list());
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
+    // 적재 작업에서 거부된 줄 (원본 파일, 바이트 위치, 줄 번호, 오류 클래스, 원문)
+    @GetMapping("/{jobId}")
+    public ResponseEntity<List<DeadLetter>> getDeadLetters(@PathVariable String jobId) {
+        try {
+            return ResponseEntity.ok(deadLetterStore.read(jobId));
+        } catch (NoSuchFileException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
+    // 거부된 줄만 다시 적재 (원본 파일은 다시 읽지 않음)
+    // 이번에도 실패한 줄은 응답의 stats.id 로 새 dead-letter 파일에 남는다
+    @PostMapping("/{jobId}/redrive")
+    public ResponseEntity<Map<String, Object>> redrive(@PathVariable String jobId) {
+        try {
+            IngestStats stats = deadLetterService.redrive(jobId);
+            Map<String, Object> result = new HashMap<>();
+            result.put("success", stats.getErrors() == 0);
+            result.put("savedCount", stats.getRowsWritten());
+            result.put("stats", stats);
+            return ResponseEntity.ok(result);
+        } catch (NoSuchFileException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(Map.of("error", "dead-letter 파일을 찾을 수 없습니다: " + jobId));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", "재처리 오류: " + e.getMessage()));
+        }
+    }
+
+    @DeleteMapping("/{jobId}")
+    public ResponseEntity<Void> deleteDeadLetters(@PathVariable String jobId) {
+        try {
+            return deadLetterStore.delete(jobId)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+        } catch (NoSuchFileException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
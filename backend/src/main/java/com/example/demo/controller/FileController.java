@@ -1,18 +1,41 @@
 package com.example.demo.controller;
 
+import com.example.demo.datafile.JsonlIndexService;
+import com.example.demo.datafile.JsonlLineIndex;
+import com.example.demo.datafile.JsonlPage;
+import com.example.demo.datafile.JsonlQueryService;
+import com.example.demo.datafile.JsonlSchema;
+import com.example.demo.datafile.JsonlSchemaService;
+import com.example.demo.datafile.JsonlSnapshotService;
+import com.example.demo.datafile.JsonlStreamService;
+import com.example.demo.datafile.FileRangeService;
+import com.example.demo.datafile.JsonlColumnarSnapshot;
+import com.example.demo.dto.FileMetadata;
+import com.example.demo.dto.JsonlQueryRequest;
 import com.example.demo.entity.FileEntity;
 import com.example.demo.entity.JsonlData;
+import com.example.demo.ingest.BulkLoadService;
+import com.example.demo.ingest.IngestStats;
+import com.example.demo.ingest.JsonlCompression;
+import com.example.demo.ingest.JsonlLineReader;
+import com.example.demo.ingest.MultiSinkIngestService;
 import com.example.demo.service.FileService;
 import com.example.demo.service.JsonlDataService;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.JsonNode;
+import com.example.demo.storage.UploadTooLargeException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.*;
 
 @RestController
@@ -20,13 +43,37 @@ import java.util.*;
 @CrossOrigin(origins = "*")
 public class FileController {
 
+    private static final MediaType TEXT_UTF8 = new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+
     @Autowired
     private FileService fileService;
 
     @Autowired
     private JsonlDataService jsonlDataService;
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    @Autowired
+    private BulkLoadService bulkLoadService;
+
+    @Autowired
+    private MultiSinkIngestService multiSinkIngestService;
+
+    @Autowired
+    private JsonlIndexService jsonlIndexService;
+
+    @Autowired
+    private JsonlSchemaService jsonlSchemaService;
+
+    @Autowired
+    private JsonlStreamService jsonlStreamService;
+
+    @Autowired
+    private JsonlSnapshotService jsonlSnapshotService;
+
+    @Autowired
+    private FileRangeService fileRangeService;
+
+    @Autowired
+    private JsonlQueryService jsonlQueryService;
 
     @GetMapping("/data")
     public ResponseEntity<List<String>> getJsonlFilesFromData() {
@@ -39,12 +86,49 @@ public class FileController {
     }
 
     @GetMapping("/data/{fileName:.+}")
-    public ResponseEntity<String> getDataFileContent(@PathVariable String fileName) {
+    public ResponseEntity<StreamingResponseBody> getDataFileContent(@PathVariable String fileName) {
+        Path path;
+        try {
+            path = fileService.resolveDataFile(fileName);
+        } catch (IOException e) {
+            String message = e.getMessage();
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .contentType(TEXT_UTF8)
+                    .body(out -> out.write(message.getBytes(StandardCharsets.UTF_8)));
+        }
+        return ResponseEntity.ok().contentType(TEXT_UTF8).body(out -> fileService.copyDataFileContent(path, out));
+    }
+
+    // 데이터 파일을 바이트 그대로 다운로드 (Range/If-Range 로 일부 구간, 이어받기 지원)
+    @GetMapping("/data/{fileName:.+}/raw")
+    public void downloadDataFile(@PathVariable String fileName,
+                                 HttpServletRequest request,
+                                 HttpServletResponse response) throws IOException {
+        Path path;
+        try {
+            path = fileService.resolveDataFile(fileName);
+        } catch (IOException e) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND, e.getMessage());
+            return;
+        }
+        String contentType = switch (JsonlCompression.of(path)) {
+            case GZIP -> "application/gzip";
+            case ZSTD -> "application/zstd";
+            case NONE -> MediaType.APPLICATION_NDJSON_VALUE;
+        };
+        fileRangeService.send(path, contentType, path.getFileName().toString(), request, response);
+    }
+
+    // page 파라미터가 있으면 줄 인덱스로 해당 페이지만 읽어 구조화된 데이터로 반환
+    @GetMapping(value = "/data/{fileName:.+}", params = "page")
+    public ResponseEntity<?> getDataFilePage(@PathVariable String fileName,
+                                             @RequestParam int page,
+                                             @RequestParam(defaultValue = "10") int size) {
         try {
-            String content = fileService.getDataFileContent(fileName);
-            return ResponseEntity.ok(content);
+            JsonlPage result = jsonlIndexService.readPage(fileName, page, size);
+            return ResponseEntity.ok(result);
         } catch (IOException e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", e.getMessage()));
         }
     }
 
@@ -52,8 +136,12 @@ public class FileController {
     @GetMapping("/data/{fileName:.+}/structured")
     public ResponseEntity<Map<String, Object>> getStructuredDataFileContent(@PathVariable String fileName) {
         try {
-            String content = fileService.getDataFileContent(fileName);
-            Map<String, Object> structuredData = parseJsonlToStructured(content);
+            // 컬럼과 레코드 수는 스키마 캐시에서 가져온다
+            JsonlSchema schema = jsonlSchemaService.getSchema(fileName);
+            Map<String, Object> structuredData = new HashMap<>();
+            structuredData.put("columns", schema.getColumns());
+            structuredData.put("data", readRecords(fileName));
+            structuredData.put("totalRecords", schema.getTotalRecords());
             return ResponseEntity.ok(structuredData);
         } catch (IOException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", e.getMessage()));
@@ -63,12 +151,44 @@ public class FileController {
         }
     }
 
+    // 구조화된 데이터를 파싱하는 대로 스트리밍 (format=ndjson 기본, json 은 /structured 와 같은 필드)
+    @GetMapping("/data/{fileName:.+}/structured/stream")
+    public ResponseEntity<StreamingResponseBody> streamStructuredDataFileContent(
+            @PathVariable String fileName,
+            @RequestParam(required = false) String format) {
+        JsonlStreamService.Format streamFormat;
+        Path path;
+        try {
+            streamFormat = JsonlStreamService.Format.of(format);
+            path = fileService.resolveDataFile(fileName);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        MediaType mediaType = streamFormat == JsonlStreamService.Format.NDJSON
+                ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON;
+        StreamingResponseBody body = out -> jsonlStreamService.write(path, streamFormat, out);
+        return ResponseEntity.ok().contentType(mediaType).body(body);
+    }
+
+    // 데이터 파일을 DB 적재 없이 조건(where), 필드(select), 개수(limit)로 조회. files 가 비어 있으면 모든 JSONL 파일
+    @PostMapping("/query")
+    public ResponseEntity<?> queryDataFiles(@RequestBody JsonlQueryRequest request) {
+        try {
+            return ResponseEntity.ok(jsonlQueryService.query(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", e.getMessage()));
+        }
+    }
+
     // JSONL 파일의 컬럼 정보만 반환
     @GetMapping("/data/{fileName:.+}/columns")
     public ResponseEntity<Map<String, Object>> getJsonlColumns(@PathVariable String fileName) {
         try {
-            String content = fileService.getDataFileContent(fileName);
-            Map<String, Object> columnInfo = getColumnsFromJsonl(content);
+            Map<String, Object> columnInfo = jsonlSchemaService.getSchema(fileName).toColumnInfo();
             return ResponseEntity.ok(columnInfo);
         } catch (IOException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", e.getMessage()));
@@ -78,115 +198,35 @@ public class FileController {
         }
     }
 
-    // JSONL을 구조화된 데이터로 파싱하는 메서드
-    private Map<String, Object> parseJsonlToStructured(String jsonlContent) throws IOException {
-        String[] lines = jsonlContent.split("\n");
+    // JSONL 파일의 레코드를 컬럼형 스냅샷에서 꺼내거나, 아직 없으면 한 줄씩 읽어 파싱 (파싱할 수 없는 줄은 건너뛴다)
+    private List<Map<String, Object>> readRecords(String fileName) throws IOException {
+        Optional<JsonlColumnarSnapshot> snapshot = jsonlSnapshotService.find(fileName);
+        if (snapshot.isPresent()) {
+            return snapshot.get().rows(0, snapshot.get().getRowCount());
+        }
         List<Map<String, Object>> records = new ArrayList<>();
-        Set<String> allColumns = new LinkedHashSet<>();
-
-        for (String line : lines) {
-            if (line.trim().isEmpty()) continue;
-
-            JsonNode jsonNode = objectMapper.readTree(line);
-            Map<String, Object> record = new HashMap<>();
-
-            // JSON의 모든 필드를 추출
-            jsonNode.fields().forEachRemaining(entry -> {
-                String key = entry.getKey();
-                JsonNode value = entry.getValue();
-                allColumns.add(key);
-
-                if (value.isTextual()) {
-                    record.put(key, value.asText());
-                } else if (value.isNumber()) {
-                    record.put(key, value.asDouble());
-                } else if (value.isBoolean()) {
-                    record.put(key, value.asBoolean());
-                } else if (value.isNull()) {
-                    record.put(key, null);
-                } else {
-                    record.put(key, value.toString());
+        Path path = fileService.resolveDataFile(fileName);
+        try (JsonlLineReader reader = new JsonlLineReader(JsonlCompression.of(path).open(path))) {
+            while (reader.next()) {
+                String line = reader.line();
+                if (!JsonlLineIndex.isRecordLine(line)) continue;
+                try {
+                    records.add(jsonlIndexService.parseRecord(line));
+                } catch (IOException e) {
+                    // 잘못된 줄은 /columns 의 invalidRecords 로 보고된다
                 }
-            });
-
-            records.add(record);
+            }
         }
-
-        Map<String, Object> result = new HashMap<>();
-        result.put("columns", new ArrayList<>(allColumns));
-        result.put("data", records);
-        result.put("totalRecords", records.size());
-
-        return result;
-    }
-
-    // JSONL 파일의 컬럼 정보를 추출하는 메서드
-    private Map<String, Object> getColumnsFromJsonl(String jsonlContent) throws IOException {
-        String[] lines = jsonlContent.split("\n");
-        Set<String> allColumns = new LinkedHashSet<>();
-        Map<String, String> columnTypes = new HashMap<>();
-        Map<String, Integer> columnCounts = new HashMap<>();
-
-        int totalLines = 0;
-
-        for (String line : lines) {
-            if (line.trim().isEmpty()) continue;
-            totalLines++;
-
-            JsonNode jsonNode = objectMapper.readTree(line);
-
-            jsonNode.fields().forEachRemaining(entry -> {
-                String key = entry.getKey();
-                JsonNode value = entry.getValue();
-                allColumns.add(key);
-
-                // 컬럼별 카운트
-                columnCounts.put(key, columnCounts.getOrDefault(key, 0) + 1);
-
-                // 데이터 타입 추정
-                if (!columnTypes.containsKey(key)) {
-                    if (value.isTextual()) {
-                        columnTypes.put(key, "String");
-                    } else if (value.isInt()) {
-                        columnTypes.put(key, "Integer");
-                    } else if (value.isDouble()) {
-                        columnTypes.put(key, "Double");
-                    } else if (value.isBoolean()) {
-                        columnTypes.put(key, "Boolean");
-                    } else if (value.isNull()) {
-                        columnTypes.put(key, "Null");
-                    } else {
-                        columnTypes.put(key, "Object");
-                    }
-                }
-            });
-        }
-
-        // 컬럼별 상세 정보 생성
-        List<Map<String, Object>> columnDetails = new ArrayList<>();
-        for (String column : allColumns) {
-            Map<String, Object> detail = new HashMap<>();
-            detail.put("name", column);
-            detail.put("type", columnTypes.get(column));
-            detail.put("count", columnCounts.get(column));
-            detail.put("percentage", String.format("%.1f%%", (columnCounts.get(column) * 100.0) / totalLines));
-            columnDetails.add(detail);
-        }
-
-        Map<String, Object> result = new HashMap<>();
-        result.put("totalColumns", allColumns.size());
-        result.put("totalRecords", totalLines);
-        result.put("columns", new ArrayList<>(allColumns));
-        result.put("columnDetails", columnDetails);
-
-        return result;
+        return records;
     }
 
     @PostMapping("/upload")
-    public ResponseEntity<FileEntity> uploadFile(@RequestParam("file") MultipartFile file) {
+    public ResponseEntity<FileMetadata> uploadFile(@RequestParam("file") MultipartFile file) {
         try {
             FileEntity savedFile = fileService.saveFileFromUpload(file);
-            return ResponseEntity.ok(savedFile);
+            return ResponseEntity.ok(FileMetadata.of(savedFile));
+        } catch (UploadTooLargeException e) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
         } catch (IOException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         } catch (IllegalArgumentException e) {
@@ -195,10 +235,10 @@ public class FileController {
     }
 
     @PostMapping("/save-from-path")
-    public ResponseEntity<FileEntity> saveFileFromPath(@RequestParam("filePath") String filePath) {
+    public ResponseEntity<FileMetadata> saveFileFromPath(@RequestParam("filePath") String filePath) {
         try {
             FileEntity savedFile = fileService.saveFileFromPath(filePath);
-            return ResponseEntity.ok(savedFile);
+            return ResponseEntity.ok(FileMetadata.of(savedFile));
         } catch (IOException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         } catch (IllegalArgumentException e) {
@@ -207,20 +247,36 @@ public class FileController {
     }
 
     @GetMapping
-    public ResponseEntity<List<FileEntity>> getAllFiles() {
-        List<FileEntity> files = fileService.getAllFiles();
+    public ResponseEntity<List<FileMetadata>> getAllFiles() {
+        List<FileMetadata> files = fileService.getAllFiles();
         return ResponseEntity.ok(files);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<FileEntity> getFileById(@PathVariable Long id) {
-        Optional<FileEntity> file = fileService.getFileById(id);
+    public ResponseEntity<FileMetadata> getFileById(@PathVariable Long id) {
+        Optional<FileMetadata> file = fileService.getFileById(id);
         return file.map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
     }
 
+    // 파일 본문을 blob 저장소에서 스트리밍 (Range 지원)
+    @GetMapping("/{id}/content")
+    public void getFileContent(@PathVariable Long id,
+                               HttpServletRequest request,
+                               HttpServletResponse response) throws IOException {
+        Optional<FileMetadata> file = fileService.getFileById(id);
+        Optional<Path> content = file.isPresent() ? fileService.getFileContentPath(id) : Optional.empty();
+        if (content.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        String fileName = file.get().getFileName() != null ? file.get().getFileName() : String.valueOf(id);
+        String contentType = MediaTypeFactory.getMediaType(fileName).orElse(MediaType.APPLICATION_OCTET_STREAM).toString();
+        fileRangeService.send(content.get(), contentType, fileName, request, response);
+    }
+
     @GetMapping("/search")
-    public ResponseEntity<List<FileEntity>> searchFiles(@RequestParam("fileName") String fileName) {
-        List<FileEntity> files = fileService.searchFiles(fileName);
+    public ResponseEntity<List<FileMetadata>> searchFiles(@RequestParam("fileName") String fileName) {
+        List<FileMetadata> files = fileService.searchFiles(fileName);
         return ResponseEntity.ok(files);
     }
 
@@ -231,14 +287,28 @@ public class FileController {
     }
 
     // JSONL 파일을 RawRssItem 테이블에 저장
+    // mode=streaming(기본): 한 줄씩 스트리밍 적재, mode=legacy: 파일 전체를 읽어 적재 (비교용)
+    // mode=bulk-load: LOAD DATA LOCAL INFILE 로 파일 전체를 한 번에 적재 (백필용)
     @PostMapping("/data/{fileName:.+}/save-to-database")
-    public ResponseEntity<Map<String, Object>> saveJsonlToDatabase(@PathVariable String fileName) {
+    // fromStart=true 면 체크포인트를 무시하고 처음부터 적재 (streaming 모드)
+    public ResponseEntity<Map<String, Object>> saveJsonlToDatabase(@PathVariable String fileName,
+                                                                   @RequestParam(defaultValue = "streaming") String mode,
+                                                                   @RequestParam(defaultValue = "false") boolean fromStart) {
         try {
-            int savedCount = fileService.saveJsonlToRawRssItem(fileName);
+            IngestStats stats;
+            if ("legacy".equalsIgnoreCase(mode)) {
+                stats = fileService.saveJsonlToRawRssItem(fileName);
+            } else if ("bulk-load".equalsIgnoreCase(mode)) {
+                stats = bulkLoadService.bulkLoadRawRssItems(fileName);
+            } else {
+                stats = fileService.streamJsonlToRawRssItem(fileName, fromStart);
+            }
+            long savedCount = stats.getRowsWritten();
             Map<String, Object> result = new HashMap<>();
             result.put("success", true);
             result.put("savedCount", savedCount);
             result.put("message", savedCount + "개의 항목이 저장되었습니다.");
+            result.put("stats", stats);
             return ResponseEntity.ok(result);
         } catch (IOException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -250,16 +320,18 @@ public class FileController {
     }
 
     // JSONL 파일을 JsonlData 테이블에 저장
+    // fromStart=true 면 체크포인트를 무시하고 처음부터 적재
     @PostMapping("/data/{fileName:.+}/save-to-db")
-    public ResponseEntity<Map<String, Object>> saveJsonlToJsonlDataTable(@PathVariable String fileName) {
+    public ResponseEntity<Map<String, Object>> saveJsonlToJsonlDataTable(@PathVariable String fileName,
+                                                                         @RequestParam(defaultValue = "false") boolean fromStart) {
         try {
-            String content = fileService.getDataFileContent(fileName);
-            int savedCount = jsonlDataService.saveJsonlData(content);
+            IngestStats stats = jsonlDataService.saveJsonlData(fileService.resolveDataFile(fileName), fromStart);
 
             Map<String, Object> result = new HashMap<>();
             result.put("success", true);
             result.put("message", "JSONL 파일이 성공적으로 저장되었습니다.");
-            result.put("savedRecords", savedCount);
+            result.put("savedRecords", stats.getRowsWritten());
+            result.put("stats", stats);
 
             return ResponseEntity.ok(result);
         } catch (IOException e) {
@@ -275,6 +347,28 @@ public class FileController {
         }
     }
 
+    // JSONL 파일을 한 번만 읽고 파싱하여 등록된 모든 sink(raw_rss_item, jsonl_data, 검색 인덱스)에 저장
+    // fromStart=true 면 체크포인트를 무시하고 처음부터 적재
+    @PostMapping("/data/{fileName:.+}/save-to-all")
+    public ResponseEntity<Map<String, Object>> saveJsonlToAllSinks(@PathVariable String fileName,
+                                                                   @RequestParam(defaultValue = "false") boolean fromStart) {
+        try {
+            IngestStats stats = multiSinkIngestService.ingest(fileName, fromStart);
+            Map<String, Object> result = new HashMap<>();
+            result.put("success", true);
+            result.put("sinks", multiSinkIngestService.getSinkNames());
+            result.put("message", stats.getRowsWritten() + "개의 레코드를 처리했습니다.");
+            result.put("stats", stats);
+            return ResponseEntity.ok(result);
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(Map.of("error", "파일을 찾을 수 없습니다: " + e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", "데이터베이스 저장 오류: " + e.getMessage()));
+        }
+    }
+
     // 저장된 JSONL 데이터 조회
     @GetMapping("/jsonl-data")
     public ResponseEntity<List<JsonlData>> getAllJsonlData() {
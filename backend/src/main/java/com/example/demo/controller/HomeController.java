@@ -1,8 +1,9 @@
 package com.example.demo.controller;
 
+import com.example.demo.datafile.JsonlIndexService;
+import com.example.demo.datafile.JsonlPage;
+import com.example.demo.datafile.JsonlSchemaService;
 import com.example.demo.service.FileService;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -19,7 +20,11 @@ public class HomeController {
     @Autowired
     private FileService fileService;
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    @Autowired
+    private JsonlIndexService jsonlIndexService;
+
+    @Autowired
+    private JsonlSchemaService jsonlSchemaService;
 
     @GetMapping("/")
     public String home() {
@@ -38,24 +43,17 @@ public class HomeController {
             // 특정 파일이 선택된 경우 데이터 로드
             if (fileName != null && !fileName.trim().isEmpty()) {
                 try {
-                    String content = fileService.getDataFileContent(fileName);
-                    Map<String, Object> structuredData = parseJsonlToStructured(content);
-
-                    // 페이징 처리
-                    @SuppressWarnings("unchecked")
-                    List<Map<String, Object>> allData = (List<Map<String, Object>>) structuredData.get("data");
-                    int totalRecords = allData.size();
-                    int totalPages = (int) Math.ceil((double) totalRecords / size);
-
-                    // 페이지 범위 계산
-                    int startIndex = (page - 1) * size;
-                    int endIndex = Math.min(startIndex + size, totalRecords);
-
-                    List<Map<String, Object>> pageData = allData.subList(startIndex, endIndex);
+                    // 줄 인덱스로 요청한 페이지의 레코드만 읽는다
+                    JsonlPage pageData = jsonlIndexService.readPage(fileName, page, size);
+                    long totalRecords = pageData.totalRecords();
+                    int totalPages = pageData.totalPages();
+                    page = pageData.page();
+                    size = pageData.size();
 
                     model.addAttribute("selectedFile", fileName);
-                    model.addAttribute("columns", structuredData.get("columns"));
-                    model.addAttribute("data", pageData);
+                    // 컬럼은 페이지가 아니라 파일 전체 기준 (스키마 캐시)
+                    model.addAttribute("columns", jsonlSchemaService.getSchema(fileName).getColumns());
+                    model.addAttribute("data", pageData.data());
                     model.addAttribute("totalRecords", totalRecords);
                     model.addAttribute("currentPage", page);
                     model.addAttribute("totalPages", totalPages);
@@ -82,60 +80,4 @@ public class HomeController {
     public String health() {
         return "애플리케이션이 정상적으로 실행되고 있습니다!";
     }
-
-    // JSONL을 구조화된 데이터로 파싱하는 메서드
-    private Map<String, Object> parseJsonlToStructured(String jsonlContent) throws IOException {
-        String[] lines = jsonlContent.split("\n");
-        List<Map<String, Object>> records = new ArrayList<>();
-        Set<String> allColumns = new LinkedHashSet<>();
-
-        System.out.println("파싱할 라인 수: " + lines.length); // 디버깅 로그
-
-        for (String line : lines) {
-            if (line.trim().isEmpty()) continue;
-
-            try {
-                JsonNode jsonNode = objectMapper.readTree(line);
-                Map<String, Object> record = new HashMap<>();
-
-                // JSON의 모든 필드를 추출
-                jsonNode.fields().forEachRemaining(entry -> {
-                    String key = entry.getKey();
-                    JsonNode value = entry.getValue();
-                    allColumns.add(key);
-
-                    if (value.isTextual()) {
-                        record.put(key, value.asText());
-                    } else if (value.isNumber()) {
-                        record.put(key, value.asDouble());
-                    } else if (value.isBoolean()) {
-                        record.put(key, value.asBoolean());
-                    } else if (value.isNull()) {
-                        record.put(key, null);
-                    } else {
-                        record.put(key, value.toString());
-                    }
-                });
-
-                records.add(record);
-            } catch (Exception e) {
-                System.err.println("라인 파싱 오류: " + e.getMessage() + " - 라인: " + line);
-            }
-        }
-
-        System.out.println("파싱된 레코드 수: " + records.size()); // 디버깅 로그
-        System.out.println("파싱된 컬럼 수: " + allColumns.size()); // 디버깅 로그
-        System.out.println("컬럼 목록: " + allColumns); // 디버깅 로그
-
-        if (!records.isEmpty()) {
-            System.out.println("첫 번째 레코드 샘플: " + records.get(0)); // 디버깅 로그
-        }
-
-        Map<String, Object> result = new HashMap<>();
-        result.put("columns", new ArrayList<>(allColumns));
-        result.put("data", records);
-        result.put("totalRecords", records.size());
-
-        return result;
-    }
 }
@@ -0,0 +1,124 @@
+package com.example.demo.controller;
+
+import com.example.demo.ingest.IngestJob;
+import com.example.demo.ingest.IngestJobService;
+import com.example.demo.ingest.IngestTarget;
+import com.example.demo.service.FileService;
+import com.example.demo.storage.UploadSpool;
+import com.example.demo.storage.UploadTooLargeException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+@RestController
+@RequestMapping("/api/files")
+@CrossOrigin(origins = "*")
+public class IngestJobController {
+
+    private final IngestJobService ingestJobService;
+    private final FileService fileService;
+    private final UploadSpool uploadSpool;
+
+    public IngestJobController(IngestJobService ingestJobService, FileService fileService, UploadSpool uploadSpool) {
+        this.ingestJobService = ingestJobService;
+        this.fileService = fileService;
+        this.uploadSpool = uploadSpool;
+    }
+
+    // JSONL 파일 적재 작업 등록 (바로 작업 ID 반환)
+    // target=raw-rss-item(기본): raw_rss_item 테이블, target=jsonl-data: jsonl_data 테이블
+    // target=all: 한 번 파싱하여 등록된 모든 sink 에 저장
+    // fromStart=true 면 체크포인트를 무시하고 처음부터 적재
+    @PostMapping("/data/{fileName:.+}/ingest-jobs")
+    public ResponseEntity<Map<String, Object>> submitIngestJob(@PathVariable String fileName,
+                                                               @RequestParam(defaultValue = "raw-rss-item") String target,
+                                                               @RequestParam(defaultValue = "false") boolean fromStart) {
+        IngestTarget ingestTarget;
+        try {
+            ingestTarget = IngestTarget.from(target);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "알 수 없는 target 입니다: " + target));
+        }
+
+        try {
+            IngestJob job = ingestJobService.submit(fileName, ingestTarget, fromStart);
+            Map<String, Object> result = new HashMap<>();
+            result.put("success", true);
+            result.put("jobId", job.getId());
+            result.put("statusUrl", "/api/files/ingest-jobs/" + job.getId());
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(result);
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(Map.of("error", "파일을 찾을 수 없습니다: " + e.getMessage()));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(Map.of("error", "대기 중인 적재 작업이 너무 많습니다. 잠시 후 다시 시도하세요."));
+        }
+    }
+
+    // JSONL 파일을 업로드하여 바로 적재 작업 등록
+    // 업로드는 디스크로 흘려 쓰고, 데이터 디렉토리의 {SHA-256}.jsonl(.gz/.zst) 로 저장한 뒤 적재한다
+    @PostMapping("/upload/ingest-jobs")
+    public ResponseEntity<Map<String, Object>> uploadAndIngest(@RequestParam("file") MultipartFile file,
+                                                               @RequestParam(defaultValue = "raw-rss-item") String target,
+                                                               @RequestParam(defaultValue = "false") boolean fromStart) {
+        IngestTarget ingestTarget;
+        try {
+            ingestTarget = IngestTarget.from(target);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "알 수 없는 target 입니다: " + target));
+        }
+
+        try (UploadSpool.Spooled spooled = uploadSpool.spool(file)) {
+            String fileName = fileService.saveUploadToDataDirectory(spooled);
+            IngestJob job = ingestJobService.submit(fileName, ingestTarget, fromStart);
+            Map<String, Object> result = new HashMap<>();
+            result.put("success", true);
+            result.put("jobId", job.getId());
+            result.put("statusUrl", "/api/files/ingest-jobs/" + job.getId());
+            result.put("fileName", fileName);
+            result.put("contentHash", spooled.hash());
+            result.put("fileSize", spooled.size());
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(result);
+        } catch (UploadTooLargeException e) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(Map.of("error", e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", "업로드 저장 실패: " + e.getMessage()));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(Map.of("error", "대기 중인 적재 작업이 너무 많습니다. 잠시 후 다시 시도하세요."));
+        }
+    }
+
+    // 적재 작업 목록
+    @GetMapping("/ingest-jobs")
+    public List<IngestJob> getIngestJobs() {
+        return ingestJobService.getJobs();
+    }
+
+    // 적재 작업 상태 (읽은 줄, 저장 건수, 중복, 오류, ETA)
+    @GetMapping("/ingest-jobs/{jobId}")
+    public ResponseEntity<IngestJob> getIngestJob(@PathVariable String jobId) {
+        return ingestJobService.getJob(jobId)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    // 적재 작업 취소 (진행 중인 청크까지만 저장)
+    @DeleteMapping("/ingest-jobs/{jobId}")
+    public ResponseEntity<IngestJob> cancelIngestJob(@PathVariable String jobId) {
+        return ingestJobService.cancel(jobId)
+            .map(job -> ResponseEntity.accepted().body(job))
+            .orElse(ResponseEntity.notFound().build());
+    }
+}
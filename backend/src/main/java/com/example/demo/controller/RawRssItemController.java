@@ -1,28 +1,78 @@
 package com.example.demo.controller;
 
+import com.example.demo.dto.RssItemCursor;
+import com.example.demo.dto.RssItemPage;
+import com.example.demo.dto.RssItemSummary;
 import com.example.demo.entity.RawRssItem;
 import com.example.demo.repository.jpa.RawRssItemRepository;
+import com.example.demo.service.RawRssItemsChangedEvent;
+import com.example.demo.service.RecentRssItemService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/rss-items")
 @CrossOrigin(origins = "*")
 public class RawRssItemController {
 
+    private static final int MAX_PAGE_SIZE = 500;
+
     @Autowired
     private RawRssItemRepository repository;
 
-    // 모든 RSS 아이템 조회
+    @Autowired
+    private RecentRssItemService recentRssItemService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // RSS 아이템 목록 (수집 시각 최신순, 커서 페이지)
+    // 응답의 nextCursor 를 다음 요청의 cursor 로 넘긴다. size 는 최대 500
+    // 본문(description, contentEncoded, rawXml)과 author, category 는 fields=description,author 처럼 요청한 경우에만 포함
+    // collected_at 이 없는 행은 커서로 순서를 정할 수 없어 목록에 나오지 않는다 (/{guid} 로는 조회된다)
     @GetMapping
-    public List<RawRssItem> getAllRssItems() {
-        return repository.findAll();
+    public ResponseEntity<?> getAllRssItems(@RequestParam(required = false) String cursor,
+                                            @RequestParam(defaultValue = "50") int size,
+                                            @RequestParam(required = false) List<String> fields) {
+        int pageSize = Math.min(Math.max(1, size), MAX_PAGE_SIZE);
+        Set<String> heavyFields = new HashSet<>();
+        if (fields != null) {
+            for (String field : fields) {
+                String name = field.trim();
+                if (name.isEmpty()) continue;
+                if (!RssItemSummary.HEAVY_FIELDS.contains(name)) {
+                    return ResponseEntity.badRequest()
+                        .body(Map.of("error", "알 수 없는 field 입니다: " + name + " (가능: " + RssItemSummary.HEAVY_FIELDS + ")"));
+                }
+                heavyFields.add(name);
+            }
+        }
+
+        RssItemCursor after;
+        try {
+            after = cursor == null || cursor.isBlank() ? null : RssItemCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "잘못된 cursor 입니다."));
+        }
+
+        // 한 건 더 읽어 다음 페이지가 있는지 확인
+        List<RssItemSummary> items = repository.findSummaries(after, pageSize + 1, heavyFields);
+        String nextCursor = null;
+        if (items.size() > pageSize) {
+            items = items.subList(0, pageSize);
+            nextCursor = RssItemCursor.of(items.get(pageSize - 1)).encode();
+        }
+        return ResponseEntity.ok(new RssItemPage(items, items.size(), nextCursor));
     }
 
     // 특정 RSS 아이템 조회
@@ -45,7 +95,9 @@ public class RawRssItemController {
                 rssItem.setCollectedAt(LocalDateTime.now());
             }
 
+            // 어떤 필드를 보냈든 같은 의미가 되도록 항상 save() 로 모든 컬럼을 저장하고 저장된 행을 반환한다
             RawRssItem savedItem = repository.save(rssItem);
+            eventPublisher.publishEvent(new RawRssItemsChangedEvent(1));
             return ResponseEntity.ok(savedItem);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -58,6 +110,7 @@ public class RawRssItemController {
         try {
             if (repository.existsById(guid)) {
                 repository.deleteById(guid);
+                eventPublisher.publishEvent(new RawRssItemsChangedEvent(1));
                 return ResponseEntity.ok().build();
             } else {
                 return ResponseEntity.notFound().build();
@@ -73,9 +126,11 @@ public class RawRssItemController {
         return repository.findBySourceOrderByCollectedAtDesc(source);
     }
 
-    // 최근 수집된 RSS 아이템 조회
+    // 최근 수집된 RSS 아이템 조회 (최대 500건)
+    // rss.recent.capacity 이하는 메모리에 유지하는 최근 목록에서 DB 조회 없이 응답한다
+    // 응답 모양은 RawRssItem 과 같지만 contentEncoded, rawXml 은 비어 있고(/{guid} 로 조회), collected_at 이 없는 행은 나오지 않는다
     @GetMapping("/recent")
     public List<RawRssItem> getRecentRssItems(@RequestParam(defaultValue = "10") int limit) {
-        return repository.findTopByOrderByCollectedAtDesc(limit);
+        return recentRssItemService.getRecent(Math.min(Math.max(1, limit), MAX_PAGE_SIZE));
     }
 }
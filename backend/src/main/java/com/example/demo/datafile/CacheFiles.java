@@ -0,0 +1,48 @@
+package com.example.demo.datafile;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 데이터 파일에서 만든 캐시 파일(줄 인덱스, 스냅샷)의 이름 규칙.
+ * 원본 크기/수정 시각을 이름에 넣어, 매핑 중인 이전 파일을 덮어쓰지 않고 새 파일을 만든다.
+ */
+final class CacheFiles {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheFiles.class);
+
+    private CacheFiles() {
+    }
+
+    static Path path(Path directory, String fileName, long size, long modified, String extension) {
+        return directory.resolve(prefix(fileName) + size + "-" + modified + extension);
+    }
+
+    // 같은 데이터 파일의 이전 캐시 파일 정리 (Windows 에서 아직 매핑 중이면 지워지지 않을 수 있다)
+    static void deleteStale(Path directory, String fileName, String extension, Path current) {
+        String prefix = prefix(fileName);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, prefix + "*" + extension)) {
+            for (Path file : files) {
+                String suffix = file.getFileName().toString().substring(prefix.length());
+                if (!file.equals(current) && suffix.matches("\\d+-\\d+\\" + extension)) {
+                    try {
+                        Files.deleteIfExists(file);
+                    } catch (IOException e) {
+                        log.debug("이전 캐시 파일 삭제 실패 {}: {}", file, e.getMessage());
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.debug("캐시 디렉토리 정리 실패 {}: {}", directory, e.getMessage());
+        }
+    }
+
+    private static String prefix(String fileName) {
+        return fileName.replaceAll("[^A-Za-z0-9._-]", "_") + "-";
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.demo.datafile;
+
+import com.example.demo.ingest.ContentHash;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * JSONL 파일 한 컬럼의 통계. 값 개수와 무관하게 메모리 사용량이 고정되어 있다
+ * (HyperLogLog 레지스터 4KB + 표본 {@value #SAMPLE_SIZE}개).
+ * 파일 조각별로 따로 모은 뒤 {@link #merge}로 합칠 수 있다.
+ */
+public class ColumnStats {
+
+    private static final int HLL_PRECISION = 12;
+    static final int SAMPLE_SIZE = 10;
+    // 표본으로 남기는 값의 최대 길이
+    private static final int SAMPLE_VALUE_LENGTH = 200;
+
+    private final String name;
+    private String type;
+    private long count;
+    private long nullCount;
+    private int minLength = Integer.MAX_VALUE;
+    private int maxLength;
+    private final HyperLogLog distinct;
+    private final ReservoirSample sample;
+
+    public ColumnStats(String name) {
+        this(name, new HyperLogLog(HLL_PRECISION), new ReservoirSample(SAMPLE_SIZE));
+    }
+
+    private ColumnStats(String name, HyperLogLog distinct, ReservoirSample sample) {
+        this.name = name;
+        this.distinct = distinct;
+        this.sample = sample;
+    }
+
+    /**
+     * @param valueType 값의 타입 (String, Integer, Long, Double, Boolean, Null, Object)
+     * @param text      값의 문자열 표현. 객체/배열은 JSON 원문, null 이면 null
+     */
+    void add(String valueType, String text) {
+        count++;
+        // 처음 본 타입을 쓰되, null 만 보였던 컬럼은 실제 값이 나오면 그 타입으로 바꾼다
+        if (type == null || ("Null".equals(type) && !"Null".equals(valueType))) {
+            type = valueType;
+        }
+        if (text == null) {
+            nullCount++;
+            return;
+        }
+        minLength = Math.min(minLength, text.length());
+        maxLength = Math.max(maxLength, text.length());
+        distinct.offer(ContentHash.of(text));
+        sample.offer(text.length() > SAMPLE_VALUE_LENGTH ? text.substring(0, SAMPLE_VALUE_LENGTH) : text);
+    }
+
+    /** other 를 이 통계 뒤에 이어지는 조각으로 보고 합친다 */
+    void merge(ColumnStats other) {
+        count += other.count;
+        nullCount += other.nullCount;
+        minLength = Math.min(minLength, other.minLength);
+        maxLength = Math.max(maxLength, other.maxLength);
+        distinct.merge(other.distinct);
+        sample.merge(other.sample);
+        if (type == null || ("Null".equals(type) && other.type != null)) {
+            type = other.type;
+        }
+    }
+
+    ColumnStats copy() {
+        ColumnStats copy = new ColumnStats(name, distinct.copy(), sample.copy());
+        copy.type = type;
+        copy.count = count;
+        copy.nullCount = nullCount;
+        copy.minLength = minLength;
+        copy.maxLength = maxLength;
+        return copy;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getNullCount() {
+        return nullCount;
+    }
+
+    public long getDistinctEstimate() {
+        return count == nullCount ? 0 : distinct.estimate();
+    }
+
+    // /columns 응답의 columnDetails 항목
+    public Map<String, Object> toDetail(long totalRecords) {
+        boolean hasValues = count > nullCount;
+        Map<String, Object> detail = new LinkedHashMap<>();
+        detail.put("name", name);
+        detail.put("type", type);
+        detail.put("count", count);
+        detail.put("percentage", String.format("%.1f%%", totalRecords == 0 ? 0.0 : (count * 100.0) / totalRecords));
+        detail.put("nullCount", nullCount);
+        // 값이 null 이거나 필드 자체가 없는 레코드의 비율
+        detail.put("nullRatio", totalRecords == 0 ? 0.0 : (double) (totalRecords - count + nullCount) / totalRecords);
+        detail.put("distinctEstimate", getDistinctEstimate());
+        detail.put("minLength", hasValues ? minLength : null);
+        detail.put("maxLength", hasValues ? maxLength : null);
+        detail.put("sample", sample.getItems());
+        return detail;
+    }
+}
@@ -0,0 +1,397 @@
+package com.example.demo.datafile;
+
+import com.example.demo.ingest.JsonlCompression;
+import com.example.demo.ingest.JsonlLineReader;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * JSONL 파일의 컬럼형 바이너리 스냅샷. 한 번 파싱한 결과를 컬럼별로 저장해 두고 메모리 매핑하여 읽으므로,
+ * 레코드를 다시 JSON 파싱하지 않고 필요한 행만 꺼낼 수 있다.
+ * 각 컬럼은 값 사전(dictionary)과 행마다 사전 번호를 담은 int 배열로 이루어지며, 사전 항목은 오프셋 배열로 찾는다.
+ * 행은 {@link JsonlLineIndex#isRecordLine} 인 줄이며(줄 인덱스와 같은 행 번호) 값은 /structured 와 같은 형태로 돌려준다.
+ *
+ * <pre>
+ * int magic, int version, long sourceSize, long sourceModified, int rowCount, int columnCount
+ * 컬럼마다: int nameLength, byte[] name(UTF-8), long codesOffset, long entryOffsetsOffset, int entryCount, long entryDataOffset
+ * 컬럼마다: int[rowCount] codes (-1 은 필드 없음), long[entryCount + 1] entryOffsets, byte[] entryData
+ * 사전 항목: byte tag + 값 (문자열/JSON 원문은 UTF-8, 정수는 long, 실수는 double)
+ * </pre>
+ */
+public final class JsonlColumnarSnapshot {
+
+    private static final int MAGIC = 0x4A4C4353; // "JLCS"
+    private static final int VERSION = 1;
+
+    private static final byte TAG_STRING = 0;
+    private static final byte TAG_LONG = 1;
+    private static final byte TAG_DOUBLE = 2;
+    private static final byte TAG_TRUE = 3;
+    private static final byte TAG_FALSE = 4;
+    private static final byte TAG_NULL = 5;
+    private static final byte TAG_JSON = 6;
+
+    private static final int MISSING = -1;
+    // 컬럼당 중복 제거에 쓰는 사전 조회표의 크기 상한(바이트). 넘으면 새 값은 중복 확인 없이 추가한다 (guid, link 같은 컬럼)
+    private static final long MAX_DICTIONARY_BYTES = 8L * 1024 * 1024;
+    // 이보다 긴 값(본문 등)은 반복될 일이 드물어 조회표에 넣지 않는다
+    private static final int MAX_DEDUP_ENTRY_BYTES = 256;
+
+    private static final JsonFactory JSON_FACTORY = new ObjectMapper().getFactory();
+
+    private final long sourceSize;
+    private final long sourceModified;
+    private final int rowCount;
+    private final List<String> columns;
+    private final List<Column> columnData;
+
+    private JsonlColumnarSnapshot(long sourceSize, long sourceModified, int rowCount, List<Column> columnData) {
+        this.sourceSize = sourceSize;
+        this.sourceModified = sourceModified;
+        this.rowCount = rowCount;
+        this.columnData = columnData;
+        this.columns = columnData.stream().map(column -> column.name).toList();
+    }
+
+    public boolean matches(long size, long modified) {
+        return sourceSize == size && sourceModified == modified;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    /** row 번째(0부터) 행. 그 행에 없는 필드는 맵에 넣지 않는다 */
+    public Map<String, Object> row(int row) {
+        Map<String, Object> record = new LinkedHashMap<>();
+        for (Column column : columnData) {
+            int code = column.codes.get(row);
+            if (code != MISSING) {
+                record.put(column.name, column.value(code));
+            }
+        }
+        return record;
+    }
+
+    /** [from, to) 범위의 행 */
+    public List<Map<String, Object>> rows(int from, int to) {
+        List<Map<String, Object>> records = new ArrayList<>(Math.max(0, to - from));
+        for (int row = Math.max(0, from); row < Math.min(to, rowCount); row++) {
+            records.add(row(row));
+        }
+        return records;
+    }
+
+    /**
+     * 스냅샷 파일을 읽기 전용으로 매핑한다. 형식이 맞지 않으면 null.
+     */
+    static JsonlColumnarSnapshot load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+             DataInputStream header = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (header.readInt() != MAGIC || header.readInt() != VERSION) return null;
+            long sourceSize = header.readLong();
+            long sourceModified = header.readLong();
+            int rowCount = header.readInt();
+            int columnCount = header.readInt();
+
+            List<Column> columns = new ArrayList<>(columnCount);
+            for (int i = 0; i < columnCount; i++) {
+                byte[] name = new byte[header.readInt()];
+                header.readFully(name);
+                long codesOffset = header.readLong();
+                long entryOffsetsOffset = header.readLong();
+                int entryCount = header.readInt();
+                long entryDataOffset = header.readLong();
+                if (entryDataOffset > channel.size()) return null;
+
+                IntBuffer codes = map(channel, codesOffset, (long) rowCount * Integer.BYTES).asIntBuffer();
+                LongBuffer entryOffsets = map(channel, entryOffsetsOffset, (long) (entryCount + 1) * Long.BYTES).asLongBuffer();
+                long dataLength = entryOffsets.get(entryCount);
+                if (entryDataOffset + dataLength > channel.size()) return null;
+                ByteBuffer entryData = map(channel, entryDataOffset, dataLength);
+                columns.add(new Column(new String(name, StandardCharsets.UTF_8), codes, entryOffsets, entryData));
+            }
+            return new JsonlColumnarSnapshot(sourceSize, sourceModified, rowCount, columns);
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+
+    private static ByteBuffer map(FileChannel channel, long offset, long length) throws IOException {
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException("snapshot section too large: " + length);
+        }
+        return channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+    }
+
+    /**
+     * 원본 파일을 한 번 읽어 스냅샷 파일을 만들고 매핑하여 반환한다.
+     * 컬럼별 값은 임시 파일에 흘려 쓰므로 빌드 중 메모리는 사전 조회표(컬럼당 최대 {@value #MAX_DICTIONARY_BYTES}바이트) 정도이다.
+     */
+    static JsonlColumnarSnapshot build(Path source, long sourceSize, long sourceModified, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path workDirectory = Files.createTempDirectory(target.getParent(), "build");
+        Map<String, ColumnBuilder> builders = new LinkedHashMap<>();
+        try {
+            int rowCount = 0;
+            Map<String, byte[]> rowValues = new LinkedHashMap<>();
+            try (InputStream in = JsonlCompression.of(source).open(source);
+                 JsonlLineReader reader = new JsonlLineReader(in)) {
+                while (reader.next()) {
+                    String line = reader.line();
+                    if (!JsonlLineIndex.isRecordLine(line)) continue;
+                    parseRow(line, rowValues);
+                    for (String name : rowValues.keySet()) {
+                        if (!builders.containsKey(name)) {
+                            builders.put(name, new ColumnBuilder(name, workDirectory, builders.size(), rowCount));
+                        }
+                    }
+                    for (ColumnBuilder builder : builders.values()) {
+                        builder.add(rowValues.get(builder.name));
+                    }
+                    rowCount++;
+                }
+            }
+
+            Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                writeSnapshot(out, sourceSize, sourceModified, rowCount, new ArrayList<>(builders.values()));
+            } catch (IOException e) {
+                Files.deleteIfExists(temp);
+                throw e;
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            for (ColumnBuilder builder : builders.values()) {
+                builder.delete();
+            }
+            Files.deleteIfExists(workDirectory);
+        }
+        return load(target);
+    }
+
+    // 레코드 줄의 최상위 필드를 이름 → 인코딩된 사전 항목으로 읽는다. 읽지 못하면 필드 없는 행이 된다
+    private static void parseRow(String line, Map<String, byte[]> values) {
+        values.clear();
+        try (JsonParser parser = JSON_FACTORY.createParser(line)) {
+            parser.nextToken();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                JsonToken token = parser.nextToken();
+                values.put(name, encode(parser, token));
+            }
+        } catch (IOException e) {
+            values.clear();
+        }
+    }
+
+    private static byte[] encode(JsonParser parser, JsonToken token) throws IOException {
+        switch (token) {
+            case VALUE_STRING:
+                return withTag(TAG_STRING, parser.getText().getBytes(StandardCharsets.UTF_8));
+            case VALUE_NUMBER_INT:
+                if (parser.getNumberType() != JsonParser.NumberType.BIG_INTEGER) {
+                    return ByteBuffer.allocate(9).put(TAG_LONG).putLong(parser.getLongValue()).array();
+                }
+                return ByteBuffer.allocate(9).put(TAG_DOUBLE).putDouble(parser.getDoubleValue()).array();
+            case VALUE_NUMBER_FLOAT:
+                return ByteBuffer.allocate(9).put(TAG_DOUBLE).putDouble(parser.getDoubleValue()).array();
+            case VALUE_TRUE:
+                return new byte[]{TAG_TRUE};
+            case VALUE_FALSE:
+                return new byte[]{TAG_FALSE};
+            case VALUE_NULL:
+                return new byte[]{TAG_NULL};
+            default:
+                // 객체/배열은 /structured 와 같이 JSON 문자열로 둔다
+                return withTag(TAG_JSON, parser.readValueAsTree().toString().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static byte[] withTag(byte tag, byte[] payload) {
+        byte[] entry = new byte[payload.length + 1];
+        entry[0] = tag;
+        System.arraycopy(payload, 0, entry, 1, payload.length);
+        return entry;
+    }
+
+    private static void writeSnapshot(FileChannel out, long sourceSize, long sourceModified, int rowCount,
+                                      List<ColumnBuilder> builders) throws IOException {
+        for (ColumnBuilder builder : builders) {
+            builder.finish();
+        }
+
+        // 헤더와 컬럼 목록의 크기를 먼저 계산해 각 구간의 위치를 정한다
+        List<byte[]> names = builders.stream().map(b -> b.name.getBytes(StandardCharsets.UTF_8)).toList();
+        long position = 32;
+        for (byte[] name : names) {
+            position += Integer.BYTES + name.length + Long.BYTES * 3 + Integer.BYTES;
+        }
+        ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
+        DataOutputStream header = new DataOutputStream(headerBytes);
+        header.writeInt(MAGIC);
+        header.writeInt(VERSION);
+        header.writeLong(sourceSize);
+        header.writeLong(sourceModified);
+        header.writeInt(rowCount);
+        header.writeInt(builders.size());
+        for (int i = 0; i < builders.size(); i++) {
+            ColumnBuilder builder = builders.get(i);
+            long codesOffset = position;
+            long entryOffsetsOffset = codesOffset + (long) rowCount * Integer.BYTES;
+            long entryDataOffset = entryOffsetsOffset + (long) (builder.entryCount + 1) * Long.BYTES;
+            header.writeInt(names.get(i).length);
+            header.write(names.get(i));
+            header.writeLong(codesOffset);
+            header.writeLong(entryOffsetsOffset);
+            header.writeInt(builder.entryCount);
+            header.writeLong(entryDataOffset);
+            position = entryDataOffset + builder.dataSize;
+        }
+        header.flush();
+        writeFully(out, ByteBuffer.wrap(headerBytes.toByteArray()));
+
+        for (ColumnBuilder builder : builders) {
+            copy(builder.codesFile, out);
+            copy(builder.offsetsFile, out);
+            copy(builder.dataFile, out);
+        }
+    }
+
+    private static void copy(Path file, FileChannel out) throws IOException {
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            long position = 0;
+            long size = in.size();
+            while (position < size) {
+                position += in.transferTo(position, size - position, out);
+            }
+        }
+    }
+
+    private static void writeFully(FileChannel out, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+    }
+
+    /** 매핑된 컬럼 하나 */
+    private static final class Column {
+        private final String name;
+        private final IntBuffer codes;
+        private final LongBuffer entryOffsets;
+        private final ByteBuffer entryData;
+
+        private Column(String name, IntBuffer codes, LongBuffer entryOffsets, ByteBuffer entryData) {
+            this.name = name;
+            this.codes = codes;
+            this.entryOffsets = entryOffsets;
+            this.entryData = entryData;
+        }
+
+        private Object value(int code) {
+            int start = (int) entryOffsets.get(code);
+            int end = (int) entryOffsets.get(code + 1);
+            byte tag = entryData.get(start);
+            switch (tag) {
+                case TAG_STRING:
+                case TAG_JSON:
+                    byte[] bytes = new byte[end - start - 1];
+                    entryData.get(start + 1, bytes);
+                    return new String(bytes, StandardCharsets.UTF_8);
+                case TAG_LONG:
+                    return (double) entryData.getLong(start + 1);
+                case TAG_DOUBLE:
+                    return entryData.getDouble(start + 1);
+                case TAG_TRUE:
+                    return Boolean.TRUE;
+                case TAG_FALSE:
+                    return Boolean.FALSE;
+                default:
+                    return null;
+            }
+        }
+    }
+
+    /** 빌드 중인 컬럼 하나. 사전 번호, 항목 끝 위치, 사전 항목을 각각 임시 파일에 흘려 쓴다 */
+    private static final class ColumnBuilder {
+        private final String name;
+        private final Path codesFile;
+        private final Path offsetsFile;
+        private final Path dataFile;
+        private final DataOutputStream codes;
+        private final DataOutputStream offsets;
+        private final OutputStream data;
+        private final Map<ByteBuffer, Integer> dictionary = new HashMap<>();
+        private long dictionaryBytes;
+        private int entryCount;
+        private long dataSize;
+
+        private ColumnBuilder(String name, Path workDirectory, int index, int missingRows) throws IOException {
+            this.name = name;
+            this.codesFile = workDirectory.resolve(index + ".codes");
+            this.offsetsFile = workDirectory.resolve(index + ".offsets");
+            this.dataFile = workDirectory.resolve(index + ".data");
+            this.codes = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(codesFile), 64 * 1024));
+            this.offsets = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(offsetsFile), 64 * 1024));
+            this.data = new BufferedOutputStream(Files.newOutputStream(dataFile), 64 * 1024);
+            // entryOffsets 는 첫 항목의 시작 위치 0 부터
+            offsets.writeLong(0);
+            // 이 컬럼이 처음 나오기 전의 행은 필드 없음
+            for (int i = 0; i < missingRows; i++) {
+                codes.writeInt(MISSING);
+            }
+        }
+
+        private void add(byte[] entry) throws IOException {
+            if (entry == null) {
+                codes.writeInt(MISSING);
+                return;
+            }
+            ByteBuffer key = entry.length <= MAX_DEDUP_ENTRY_BYTES ? ByteBuffer.wrap(entry) : null;
+            Integer code = key != null ? dictionary.get(key) : null;
+            if (code == null) {
+                code = entryCount++;
+                data.write(entry);
+                dataSize += entry.length;
+                offsets.writeLong(dataSize);
+                if (key != null && dictionaryBytes + entry.length <= MAX_DICTIONARY_BYTES) {
+                    dictionary.put(key, code);
+                    dictionaryBytes += entry.length;
+                }
+            }
+            codes.writeInt(code);
+        }
+
+        private void finish() throws IOException {
+            codes.close();
+            offsets.close();
+            data.close();
+            dictionary.clear();
+        }
+
+        private void delete() throws IOException {
+            finish();
+            Files.deleteIfExists(codesFile);
+            Files.deleteIfExists(offsetsFile);
+            Files.deleteIfExists(dataFile);
+        }
+    }
+}
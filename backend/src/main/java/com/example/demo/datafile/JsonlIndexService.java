@@ -0,0 +1,153 @@
+package com.example.demo.datafile;
+
+import com.example.demo.ingest.JsonlCompression;
+import com.example.demo.ingest.JsonlLineReader;
+import com.example.demo.service.FileService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 데이터 파일 페이지 조회. 희소 줄 오프셋 인덱스({@link JsonlLineIndex})로 요청한 페이지 위치로 바로 이동하여
+ * 그 페이지의 줄만 파싱한다. 인덱스는 파일별로 캐시 디렉토리에 저장되며, 파일 크기나 수정 시각이 바뀌면 다시 만든다.
+ */
+@Service
+public class JsonlIndexService {
+
+    private static final Logger log = LoggerFactory.getLogger(JsonlIndexService.class);
+
+    private final FileService fileService;
+    private final JsonlSnapshotService jsonlSnapshotService;
+    private final Path cacheDirectory;
+    private final int stride;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Map<String, JsonlLineIndex> indexes = new ConcurrentHashMap<>();
+    private final Map<String, Object> locks = new ConcurrentHashMap<>();
+
+    public JsonlIndexService(FileService fileService,
+                             JsonlSnapshotService jsonlSnapshotService,
+                             @Value("${data.cache-directory:cache}") String cacheDirectory,
+                             @Value("${data.index.stride:1000}") int stride) {
+        this.fileService = fileService;
+        this.jsonlSnapshotService = jsonlSnapshotService;
+        this.cacheDirectory = Paths.get(cacheDirectory).resolve("index");
+        this.stride = Math.max(1, stride);
+    }
+
+    /**
+     * 파일의 최신 인덱스. 캐시된 인덱스가 없거나 파일이 바뀌었으면 다시 만든다.
+     */
+    public JsonlLineIndex getIndex(String fileName) throws IOException {
+        Path path = fileService.resolveDataFile(fileName);
+        BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+        long size = attrs.size();
+        long modified = attrs.lastModifiedTime().toMillis();
+
+        JsonlLineIndex index = indexes.get(fileName);
+        if (index != null && index.matches(size, modified)) {
+            return index;
+        }
+        synchronized (locks.computeIfAbsent(fileName, key -> new Object())) {
+            index = indexes.get(fileName);
+            if (index != null && index.matches(size, modified)) {
+                return index;
+            }
+            Path indexFile = CacheFiles.path(cacheDirectory, fileName, size, modified, ".idx");
+            index = Files.exists(indexFile) ? JsonlLineIndex.load(indexFile) : null;
+            if (index == null || !index.matches(size, modified) || index.getStride() != stride) {
+                long started = System.nanoTime();
+                index = JsonlLineIndex.build(path, size, modified, stride, indexFile);
+                log.info("{} 줄 인덱스 생성: {}개 레코드, {}ms", fileName, index.getRecordCount(),
+                        (System.nanoTime() - started) / 1_000_000);
+            }
+            indexes.put(fileName, index);
+            CacheFiles.deleteStale(cacheDirectory, fileName, ".idx", indexFile);
+            return index;
+        }
+    }
+
+    /**
+     * page 번째(1부터) 페이지의 레코드만 읽는다. 컬럼형 스냅샷이 있으면 파싱 없이 스냅샷에서 꺼낸다.
+     */
+    public JsonlPage readPage(String fileName, int page, int size) throws IOException {
+        int pageSize = Math.max(1, size);
+        int pageNumber = Math.max(1, page);
+        Optional<JsonlColumnarSnapshot> snapshot = jsonlSnapshotService.find(fileName);
+        if (snapshot.isPresent()) {
+            return readPage(snapshot.get(), pageNumber, pageSize);
+        }
+        JsonlLineIndex index = getIndex(fileName);
+        long total = index.getRecordCount();
+        int totalPages = (int) Math.ceil((double) total / pageSize);
+        long first = (long) (pageNumber - 1) * pageSize;
+
+        Set<String> columns = new LinkedHashSet<>();
+        List<Map<String, Object>> records = new ArrayList<>(pageSize);
+        if (first < total) {
+            long checkpoint = index.checkpointFor(first);
+            long offset = index.offsetOf(first);
+            Path path = fileService.resolveDataFile(fileName);
+            try (JsonlLineReader reader = new JsonlLineReader(JsonlCompression.of(path).open(path, offset), offset, 0)) {
+                long record = checkpoint;
+                while (record < first + pageSize && reader.next()) {
+                    String line = reader.line();
+                    if (!JsonlLineIndex.isRecordLine(line)) continue;
+                    if (record++ < first) continue;
+                    try {
+                        Map<String, Object> parsed = parseRecord(line);
+                        columns.addAll(parsed.keySet());
+                        records.add(parsed);
+                    } catch (IOException e) {
+                        log.debug("{} 레코드 {} 파싱 실패: {}", fileName, record, e.getMessage());
+                    }
+                }
+            }
+        }
+        return new JsonlPage(new ArrayList<>(columns), records, total, pageNumber, pageSize, totalPages);
+    }
+
+    private static JsonlPage readPage(JsonlColumnarSnapshot snapshot, int page, int size) {
+        long total = snapshot.getRowCount();
+        int totalPages = (int) Math.ceil((double) total / size);
+        long first = (long) (page - 1) * size;
+        List<Map<String, Object>> records = first < total
+                ? snapshot.rows((int) first, (int) Math.min(first + size, total))
+                : new ArrayList<>();
+        Set<String> columns = new LinkedHashSet<>();
+        records.forEach(record -> columns.addAll(record.keySet()));
+        return new JsonlPage(new ArrayList<>(columns), records, total, page, size, totalPages);
+    }
+
+    // JSON 한 줄을 컬럼 → 값 맵으로 변환 (문자열, 숫자는 double, 불리언, null, 그 밖에는 JSON 문자열)
+    public Map<String, Object> parseRecord(String line) throws IOException {
+        JsonNode jsonNode = objectMapper.readTree(line);
+        Map<String, Object> record = new LinkedHashMap<>();
+        jsonNode.fields().forEachRemaining(entry -> {
+            JsonNode value = entry.getValue();
+            if (value.isTextual()) {
+                record.put(entry.getKey(), value.asText());
+            } else if (value.isNumber()) {
+                record.put(entry.getKey(), value.asDouble());
+            } else if (value.isBoolean()) {
+                record.put(entry.getKey(), value.asBoolean());
+            } else if (value.isNull()) {
+                record.put(entry.getKey(), null);
+            } else {
+                record.put(entry.getKey(), value.toString());
+            }
+        });
+        return record;
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.demo.datafile;
+
+import com.example.demo.ingest.JsonlCompression;
+import com.example.demo.ingest.JsonlLineReader;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * JSONL 파일의 희소 줄 오프셋 인덱스.
+ * 레코드 줄({@link #isRecordLine}) stride 개마다 그 줄이 시작하는 바이트 오프셋을 저장하므로,
+ * n 번째 레코드는 가장 가까운 앞 항목으로 이동한 뒤 최대 stride - 1 줄만 건너뛰면 된다.
+ * 인덱스 파일은 원본 파일의 크기/수정 시각과 함께 저장되고, 읽을 때는 메모리 매핑한다.
+ *
+ * <pre>
+ * int magic, int version, long sourceSize, long sourceModified, int stride, long recordCount, int entryCount,
+ * long[entryCount] offsets
+ * </pre>
+ */
+public final class JsonlLineIndex {
+
+    private static final int MAGIC = 0x4A4C4958; // "JLIX"
+    // 3: 레코드 줄 규칙을 컬럼형 스냅샷과 같게 (JSON 객체로 읽히는 줄만)
+    private static final int VERSION = 3;
+    private static final int HEADER_BYTES = 40;
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final long sourceSize;
+    private final long sourceModified;
+    private final int stride;
+    private final long recordCount;
+    private final LongBuffer offsets;
+
+    private JsonlLineIndex(long sourceSize, long sourceModified, int stride, long recordCount, LongBuffer offsets) {
+        this.sourceSize = sourceSize;
+        this.sourceModified = sourceModified;
+        this.stride = stride;
+        this.recordCount = recordCount;
+        this.offsets = offsets;
+    }
+
+    /**
+     * 원본 파일을 한 번 읽어 인덱스 파일을 만들고 매핑하여 반환한다.
+     */
+    static JsonlLineIndex build(Path source, long sourceSize, long sourceModified, int stride, Path target) throws IOException {
+        long[] entries = new long[64];
+        int entryCount = 0;
+        long records = 0;
+        try (InputStream in = JsonlCompression.of(source).open(source);
+             JsonlLineReader reader = new JsonlLineReader(in)) {
+            while (reader.next()) {
+                if (!isRecordLine(reader.line())) continue;
+                if (records % stride == 0) {
+                    if (entryCount == entries.length) {
+                        entries = Arrays.copyOf(entries, entries.length * 2);
+                    }
+                    entries[entryCount++] = reader.lineOffset();
+                }
+                records++;
+            }
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + entryCount * Long.BYTES);
+        buffer.putInt(MAGIC).putInt(VERSION).putLong(sourceSize).putLong(sourceModified)
+                .putInt(stride).putLong(records).putInt(entryCount);
+        for (int i = 0; i < entryCount; i++) {
+            buffer.putLong(entries[i]);
+        }
+        buffer.flip();
+
+        // 다 쓴 뒤에 이름을 바꿔, 읽는 쪽이 쓰다 만 인덱스를 보지 않도록 한다
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return load(target);
+    }
+
+    /**
+     * 인덱스 파일을 읽기 전용으로 매핑한다. 형식이 맞지 않으면 null.
+     */
+    static JsonlLineIndex load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) return null;
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (mapped.getInt() != MAGIC || mapped.getInt() != VERSION) return null;
+            long sourceSize = mapped.getLong();
+            long sourceModified = mapped.getLong();
+            int stride = mapped.getInt();
+            long recordCount = mapped.getLong();
+            int entryCount = mapped.getInt();
+            if (channel.size() != HEADER_BYTES + (long) entryCount * Long.BYTES) return null;
+            LongBuffer offsets = mapped.position(HEADER_BYTES).slice().asLongBuffer();
+            return new JsonlLineIndex(sourceSize, sourceModified, stride, recordCount, offsets);
+        }
+    }
+
+    /**
+     * 레코드로 세는 줄: JSON 객체로 끝까지 읽히는 줄. 빈 줄, 객체가 아닌 줄, 깨진 줄은 행 번호에 넣지 않는다.
+     * 줄 인덱스, 컬럼형 스냅샷, /structured 가 모두 이 규칙을 쓰므로 어느 경로로 읽어도 같은 행 번호가 된다.
+     * 값은 만들지 않고 토큰만 훑는다.
+     */
+    public static boolean isRecordLine(String line) {
+        int start = 0;
+        while (start < line.length() && Character.isWhitespace(line.charAt(start))) start++;
+        if (start == line.length() || line.charAt(start) != '{') {
+            return false;
+        }
+        try (JsonParser parser = JSON_FACTORY.createParser(line)) {
+            parser.nextToken();
+            parser.skipChildren();
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /** 원본 파일이 인덱스를 만든 뒤로 바뀌지 않았는지 */
+    public boolean matches(long size, long modified) {
+        return sourceSize == size && sourceModified == modified;
+    }
+
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    public int getStride() {
+        return stride;
+    }
+
+    /** record 번째(0부터) 레코드 이하에서 가장 가까운 인덱스 항목의 레코드 번호 */
+    public long checkpointFor(long record) {
+        return record / stride * stride;
+    }
+
+    /** {@link #checkpointFor} 레코드가 시작하는 바이트 오프셋 (압축 파일은 압축을 푼 기준) */
+    public long offsetOf(long record) {
+        return offsets.get((int) (record / stride));
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.demo.datafile;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JSONL 파일의 한 페이지.
+ *
+ * @param page 1부터 시작하는 페이지 번호
+ */
+public record JsonlPage(List<String> columns,
+                        List<Map<String, Object>> data,
+                        long totalRecords,
+                        int page,
+                        int size,
+                        int totalPages) {
+}
@@ -0,0 +1,130 @@
+package com.example.demo.datafile;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 최상위 필드 하나에 대한 조건. 값은 파서가 읽은 그대로(문자열, 숫자) 받아 비교하며,
+ * 숫자 필드와 숫자 피연산자는 수로, 그 밖에는 문자열로 비교한다 (ISO 날짜 문자열은 문자열 비교로 기간 조건이 된다).
+ * 부분 문자열 검색인 contains, startsWith 는 대소문자를 무시하고, 값 비교인 eq, ne, in, gt/gte/lt/lte 는 대소문자를 구분한다.
+ */
+public final class JsonlPredicate {
+
+    public enum Op {
+        EQ, NE, CONTAINS, STARTS_WITH, GT, GTE, LT, LTE, IN, EXISTS;
+
+        public static Op of(String name) {
+            if (name == null) {
+                throw new IllegalArgumentException("op is required");
+            }
+            return switch (name.trim().toLowerCase(Locale.ROOT)) {
+                case "eq", "=" -> EQ;
+                case "ne", "!=" -> NE;
+                case "contains" -> CONTAINS;
+                case "startswith", "starts_with", "prefix" -> STARTS_WITH;
+                case "gt", ">" -> GT;
+                case "gte", ">=" -> GTE;
+                case "lt", "<" -> LT;
+                case "lte", "<=" -> LTE;
+                case "in" -> IN;
+                case "exists" -> EXISTS;
+                default -> throw new IllegalArgumentException("unknown op: " + name);
+            };
+        }
+    }
+
+    private final String field;
+    private final Op op;
+    private final List<Operand> operands;
+    private final boolean expected;
+
+    public JsonlPredicate(String field, Op op, Object value) {
+        if (field == null || field.isBlank()) {
+            throw new IllegalArgumentException("field is required");
+        }
+        this.field = field;
+        this.op = op;
+        if (op == Op.EXISTS) {
+            this.operands = List.of();
+            this.expected = value == null || Boolean.parseBoolean(value.toString());
+        } else if (value == null) {
+            throw new IllegalArgumentException("value is required for " + field);
+        } else if (value instanceof Collection<?> values) {
+            if (op != Op.IN) {
+                throw new IllegalArgumentException("list value is only allowed for in: " + field);
+            }
+            this.operands = values.stream().map(v -> new Operand(String.valueOf(v))).toList();
+            this.expected = true;
+        } else {
+            this.operands = List.of(new Operand(value.toString()));
+            this.expected = true;
+        }
+    }
+
+    public String getField() {
+        return field;
+    }
+
+    /**
+     * @param text    필드 값 문자열. 필드가 없거나 null 이면 null
+     * @param numeric 값이 JSON 숫자인지
+     * @param number  numeric 일 때의 값
+     */
+    public boolean test(String text, boolean numeric, double number) {
+        if (op == Op.EXISTS) {
+            return (text != null) == expected;
+        }
+        if (text == null) {
+            return op == Op.NE;
+        }
+        Operand operand = operands.get(0);
+        return switch (op) {
+            case EQ -> operand.compare(text, numeric, number) == 0;
+            case NE -> operand.compare(text, numeric, number) != 0;
+            case CONTAINS -> containsIgnoreCase(text, operand.text);
+            case STARTS_WITH -> text.regionMatches(true, 0, operand.text, 0, operand.text.length());
+            case GT -> operand.compare(text, numeric, number) > 0;
+            case GTE -> operand.compare(text, numeric, number) >= 0;
+            case LT -> operand.compare(text, numeric, number) < 0;
+            case LTE -> operand.compare(text, numeric, number) <= 0;
+            case IN -> operands.stream().anyMatch(o -> o.compare(text, numeric, number) == 0);
+            case EXISTS -> throw new IllegalStateException();
+        };
+    }
+
+    private static boolean containsIgnoreCase(String text, String part) {
+        int max = text.length() - part.length();
+        for (int i = 0; i <= max; i++) {
+            if (text.regionMatches(true, i, part, 0, part.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** 비교할 피연산자. 숫자로 읽히면 숫자 비교에도 쓴다 */
+    private static final class Operand {
+        private final String text;
+        private final Double number;
+
+        private Operand(String text) {
+            this.text = text;
+            Double parsed;
+            try {
+                parsed = Double.valueOf(text);
+            } catch (NumberFormatException e) {
+                parsed = null;
+            }
+            this.number = parsed;
+        }
+
+        // 필드 값 - 피연산자 의 부호
+        private int compare(String value, boolean numeric, double valueNumber) {
+            if (numeric && number != null) {
+                return Double.compare(valueNumber, number);
+            }
+            return value.compareTo(text);
+        }
+    }
+}
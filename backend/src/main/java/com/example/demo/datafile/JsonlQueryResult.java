@@ -0,0 +1,18 @@
+package com.example.demo.datafile;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 데이터 파일 조회 결과.
+ *
+ * @param limitReached limit 에 닿아 읽기를 일찍 멈췄는지
+ * @param linesScanned 실제로 읽은 줄 수
+ */
+public record JsonlQueryResult(List<Map<String, Object>> rows,
+                               int count,
+                               boolean limitReached,
+                               int filesScanned,
+                               long linesScanned,
+                               long elapsedMs) {
+}
@@ -0,0 +1,280 @@
+package com.example.demo.datafile;
+
+import com.example.demo.dto.JsonlQueryRequest;
+import com.example.demo.ingest.JsonlCompression;
+import com.example.demo.ingest.JsonlLineReader;
+import com.example.demo.service.FileService;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 데이터 디렉토리의 JSONL 파일을 DB 적재 없이 바로 조회한다.
+ * 파일(큰 파일은 줄 경계로 나눈 조각)을 병렬로 읽으며, 조건은 스트리밍 파서로 최상위 필드를 읽는 도중에 평가하므로
+ * 조건에 맞지 않는 줄은 맵으로 만들지 않는다. 맞는 줄이 limit 개가 되면 모든 조각이 읽기를 멈춘다.
+ * 병렬로 읽으므로 limit 에 닿은 경우 결과는 파일 앞부분부터의 limit 개가 아닐 수 있다 (반환 순서는 파일 순서).
+ */
+@Service
+public class JsonlQueryService implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(JsonlQueryService.class);
+
+    private final FileService fileService;
+    private final JsonlIndexService jsonlIndexService;
+    private final int parallelism;
+    private final long segmentBytes;
+    private final int defaultLimit;
+    private final int maxLimit;
+    private final ExecutorService executor;
+    private final JsonFactory jsonFactory = new ObjectMapper().getFactory();
+
+    public JsonlQueryService(FileService fileService,
+                             JsonlIndexService jsonlIndexService,
+                             @Value("${data.query.parallelism:0}") int parallelism,
+                             @Value("${data.query.segment-bytes:33554432}") long segmentBytes,
+                             @Value("${data.query.default-limit:100}") int defaultLimit,
+                             @Value("${data.query.max-limit:10000}") int maxLimit) {
+        this.fileService = fileService;
+        this.jsonlIndexService = jsonlIndexService;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.segmentBytes = Math.max(1, segmentBytes);
+        this.defaultLimit = defaultLimit;
+        this.maxLimit = maxLimit;
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(this.parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "jsonl-query-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @throws IllegalArgumentException 조건이 잘못된 경우
+     * @throws IOException              파일을 찾을 수 없거나 읽을 수 없는 경우
+     */
+    public JsonlQueryResult query(JsonlQueryRequest request) throws IOException {
+        long started = System.nanoTime();
+        List<JsonlPredicate> predicates = new ArrayList<>();
+        List<JsonlQueryRequest.Condition> where = request.getWhere() == null ? List.of() : request.getWhere();
+        for (JsonlQueryRequest.Condition condition : where) {
+            if (condition == null) {
+                throw new IllegalArgumentException("where 에 빈 조건이 있습니다");
+            }
+            predicates.add(new JsonlPredicate(condition.getField(), JsonlPredicate.Op.of(condition.getOp()),
+                    condition.getValue()));
+        }
+        List<String> select = request.getSelect() == null ? List.of() : request.getSelect();
+        int limit = request.getLimit() == null ? defaultLimit : Math.min(Math.max(1, request.getLimit()), maxLimit);
+
+        List<String> fileNames = request.getFiles() == null || request.getFiles().isEmpty()
+                ? fileService.getJsonlFileNamesFromDataDirectory()
+                : request.getFiles();
+        boolean tagFile = fileNames.size() > 1;
+
+        List<Task> tasks = new ArrayList<>();
+        for (String fileName : fileNames) {
+            Path path = fileService.resolveDataFile(fileName);
+            long size = Files.size(path);
+            if (JsonlCompression.of(path) == JsonlCompression.NONE && size > segmentBytes) {
+                int parts = (int) Math.min(parallelism * 4L, (size + segmentBytes - 1) / segmentBytes);
+                List<Long> bounds = JsonlSegments.bounds(path, 0, size, parts);
+                for (int i = 0; i < bounds.size(); i++) {
+                    long end = i + 1 < bounds.size() ? bounds.get(i + 1) : Long.MAX_VALUE;
+                    tasks.add(new Task(fileName, path, bounds.get(i), end));
+                }
+            } else {
+                tasks.add(new Task(fileName, path, 0, Long.MAX_VALUE));
+            }
+        }
+
+        AtomicInteger matched = new AtomicInteger();
+        AtomicBoolean stop = new AtomicBoolean();
+        AtomicLong linesScanned = new AtomicLong();
+        List<CompletableFuture<List<Map<String, Object>>>> futures = new ArrayList<>();
+        for (Task task : tasks) {
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return scan(task, new LineMatcher(predicates), select, tagFile, limit, matched, stop, linesScanned);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, executor));
+        }
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        try {
+            for (CompletableFuture<List<Map<String, Object>>> future : futures) {
+                rows.addAll(future.join());
+            }
+        } catch (CompletionException e) {
+            stop.set(true);
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            throw e;
+        }
+
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+        log.debug("JSONL 조회: {}개 파일, {}개 조각, {}줄 읽음, {}건, {}ms",
+                fileNames.size(), tasks.size(), linesScanned.get(), rows.size(), elapsedMs);
+        return new JsonlQueryResult(rows, rows.size(), stop.get(), fileNames.size(), linesScanned.get(), elapsedMs);
+    }
+
+    private List<Map<String, Object>> scan(Task task, LineMatcher matcher, List<String> select, boolean tagFile,
+                                           int limit, AtomicInteger matched, AtomicBoolean stop,
+                                           AtomicLong linesScanned) throws IOException {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        long lines = 0;
+        try (JsonlLineReader reader = new JsonlLineReader(
+                JsonlCompression.of(task.path).open(task.path, task.start), task.start, 0)) {
+            while (!stop.get() && reader.next() && reader.lineOffset() < task.end) {
+                lines++;
+                String line = reader.line();
+                if (line.isBlank() || !matcher.matches(line)) continue;
+
+                Map<String, Object> row;
+                try {
+                    row = project(line, select, tagFile ? task.fileName : null);
+                } catch (IOException e) {
+                    continue;
+                }
+                int count = matched.incrementAndGet();
+                if (count <= limit) {
+                    rows.add(row);
+                }
+                if (count >= limit) {
+                    stop.set(true);
+                }
+            }
+        } finally {
+            linesScanned.addAndGet(lines);
+        }
+        return rows;
+    }
+
+    // 조건에 맞은 줄만 결과 행으로 만든다 (값 변환은 /structured 와 같다)
+    private Map<String, Object> project(String line, List<String> select, String fileName) throws IOException {
+        Map<String, Object> row = new LinkedHashMap<>();
+        if (fileName != null) {
+            row.put("_file", fileName);
+        }
+        if (select.isEmpty()) {
+            row.putAll(jsonlIndexService.parseRecord(line));
+            return row;
+        }
+        Map<String, Object> values = new HashMap<>();
+        try (JsonParser parser = jsonFactory.createParser(line)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("not a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                JsonToken token = parser.nextToken();
+                if (!select.contains(name)) {
+                    parser.skipChildren();
+                    continue;
+                }
+                values.put(name, switch (token) {
+                    case VALUE_STRING -> parser.getText();
+                    case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> parser.getDoubleValue();
+                    case VALUE_TRUE, VALUE_FALSE -> parser.getBooleanValue();
+                    case VALUE_NULL -> null;
+                    default -> parser.readValueAsTree().toString();
+                });
+            }
+        }
+        for (String field : select) {
+            row.put(field, values.get(field));
+        }
+        return row;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private record Task(String fileName, Path path, long start, long end) {
+    }
+
+    /**
+     * 한 줄이 모든 조건을 만족하는지 최상위 필드를 읽는 도중에 판단한다.
+     * 조건 하나라도 실패하면 나머지 줄은 읽지 않는다. 한 인스턴스는 한 스레드에서만 쓴다.
+     */
+    private final class LineMatcher {
+
+        private final Map<String, List<JsonlPredicate>> byField = new HashMap<>();
+        private final Set<String> seen = new HashSet<>();
+
+        private LineMatcher(List<JsonlPredicate> predicates) {
+            for (JsonlPredicate predicate : predicates) {
+                byField.computeIfAbsent(predicate.getField(), key -> new ArrayList<>()).add(predicate);
+            }
+        }
+
+        boolean matches(String line) {
+            if (byField.isEmpty()) return true;
+            seen.clear();
+            try (JsonParser parser = jsonFactory.createParser(line)) {
+                if (parser.nextToken() != JsonToken.START_OBJECT) return false;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    List<JsonlPredicate> fieldPredicates = byField.get(parser.getCurrentName());
+                    JsonToken token = parser.nextToken();
+                    if (fieldPredicates == null) {
+                        parser.skipChildren();
+                        continue;
+                    }
+                    seen.add(parser.getCurrentName());
+
+                    String text;
+                    boolean numeric = token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT;
+                    double number = numeric ? parser.getDoubleValue() : 0;
+                    if (token == JsonToken.VALUE_NULL) {
+                        text = null;
+                    } else if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+                        int start = (int) parser.getTokenLocation().getCharOffset();
+                        parser.skipChildren();
+                        text = line.substring(start, (int) parser.getCurrentLocation().getCharOffset());
+                    } else {
+                        text = parser.getText();
+                    }
+                    for (JsonlPredicate predicate : fieldPredicates) {
+                        if (!predicate.test(text, numeric, number)) return false;
+                    }
+                }
+            } catch (IOException e) {
+                return false;
+            }
+            // 줄에 없는 필드의 조건은 값이 없는 것으로 평가한다
+            if (seen.size() < byField.size()) {
+                for (Map.Entry<String, List<JsonlPredicate>> entry : byField.entrySet()) {
+                    if (seen.contains(entry.getKey())) continue;
+                    for (JsonlPredicate predicate : entry.getValue()) {
+                        if (!predicate.test(null, false, 0)) return false;
+                    }
+                }
+            }
+            return true;
+        }
+    }
+}
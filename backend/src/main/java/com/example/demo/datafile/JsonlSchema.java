@@ -0,0 +1,134 @@
+package com.example.demo.datafile;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * JSONL 파일의 컬럼 구성과 컬럼별 통계.
+ * 줄을 하나씩 {@link #addLine}으로 더하고, 파일 조각별 결과는 {@link #merge}로 합친다.
+ * 한 인스턴스는 한 스레드에서만 쓴다.
+ */
+public class JsonlSchema {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final Map<String, ColumnStats> columns = new LinkedHashMap<>();
+    private long totalRecords;
+    private long invalidRecords;
+
+    // addLine 에서 한 줄의 필드를 모아 두는 버퍼 (한 스레드에서만 쓴다)
+    private final List<String> lineNames = new ArrayList<>();
+    private final List<String> lineTypes = new ArrayList<>();
+    private final List<String> lineTexts = new ArrayList<>();
+
+    /**
+     * JSON 한 줄의 최상위 필드를 통계에 더한다. 빈 줄은 무시하고, JSON 객체가 아닌 줄은 invalidRecords 로 센다.
+     */
+    public void addLine(String line) {
+        if (line.isBlank()) return;
+        // 잘못된 줄이 컬럼 통계를 일부만 바꾸지 않도록 다 읽은 뒤에 반영한다
+        lineNames.clear();
+        lineTypes.clear();
+        lineTexts.clear();
+        try (JsonParser parser = JSON_FACTORY.createParser(line)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                invalidRecords++;
+                return;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                lineNames.add(parser.getCurrentName());
+                JsonToken token = parser.nextToken();
+                lineTypes.add(typeOf(parser, token));
+                lineTexts.add(textOf(parser, token, line));
+            }
+        } catch (IOException e) {
+            invalidRecords++;
+            return;
+        }
+        totalRecords++;
+        for (int i = 0; i < lineNames.size(); i++) {
+            columns.computeIfAbsent(lineNames.get(i), ColumnStats::new).add(lineTypes.get(i), lineTexts.get(i));
+        }
+    }
+
+    private static String typeOf(JsonParser parser, JsonToken token) throws IOException {
+        switch (token) {
+            case VALUE_STRING:
+                return "String";
+            case VALUE_NUMBER_INT:
+                return parser.getNumberType() == JsonParser.NumberType.INT ? "Integer" : "Long";
+            case VALUE_NUMBER_FLOAT:
+                return "Double";
+            case VALUE_TRUE:
+            case VALUE_FALSE:
+                return "Boolean";
+            case VALUE_NULL:
+                return "Null";
+            default:
+                return "Object";
+        }
+    }
+
+    // 스칼라는 값 문자열, 객체/배열은 줄에서 잘라낸 JSON 원문
+    private static String textOf(JsonParser parser, JsonToken token, String line) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+            int start = (int) parser.getTokenLocation().getCharOffset();
+            parser.skipChildren();
+            int end = (int) parser.getCurrentLocation().getCharOffset();
+            return line.substring(start, end);
+        }
+        return parser.getText();
+    }
+
+    /** other 를 이 스키마 뒤에 이어지는 조각으로 보고 합친다 */
+    public void merge(JsonlSchema other) {
+        totalRecords += other.totalRecords;
+        invalidRecords += other.invalidRecords;
+        other.columns.forEach((name, stats) -> columns.computeIfAbsent(name, ColumnStats::new).merge(stats));
+    }
+
+    public JsonlSchema copy() {
+        JsonlSchema copy = new JsonlSchema();
+        copy.merge(this);
+        return copy;
+    }
+
+    public List<String> getColumns() {
+        return new ArrayList<>(columns.keySet());
+    }
+
+    public Collection<ColumnStats> getColumnStats() {
+        return Collections.unmodifiableCollection(columns.values());
+    }
+
+    public long getTotalRecords() {
+        return totalRecords;
+    }
+
+    public long getInvalidRecords() {
+        return invalidRecords;
+    }
+
+    // /columns 응답 형식
+    public Map<String, Object> toColumnInfo() {
+        List<Map<String, Object>> columnDetails = new ArrayList<>();
+        for (ColumnStats stats : columns.values()) {
+            columnDetails.add(stats.toDetail(totalRecords));
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("totalColumns", columns.size());
+        result.put("totalRecords", totalRecords);
+        result.put("invalidRecords", invalidRecords);
+        result.put("columns", getColumns());
+        result.put("columnDetails", columnDetails);
+        return result;
+    }
+}
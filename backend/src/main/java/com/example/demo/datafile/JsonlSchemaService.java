@@ -0,0 +1,203 @@
+package com.example.demo.datafile;
+
+import com.example.demo.ingest.JsonlCompression;
+import com.example.demo.ingest.JsonlLineReader;
+import com.example.demo.service.FileService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+
+/**
+ * 데이터 파일별 스키마/통계 캐시. 경로, 크기, 수정 시각이 같으면 캐시된 결과를 그대로 돌려준다.
+ * 압축하지 않은 파일이 뒤에 덧붙여진 경우에는 이전에 읽은 위치부터 늘어난 부분만 읽어 합친다.
+ * 컬럼 통계는 조각별로 합칠 수 있으므로({@link JsonlSchema#merge}) 큰 파일은 여러 조각을 병렬로 읽는다.
+ */
+@Service
+public class JsonlSchemaService implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(JsonlSchemaService.class);
+
+    // 덧붙여진 파일인지 확인할 때 비교하는 이전 끝부분 길이
+    private static final int FINGERPRINT_BYTES = 4096;
+
+    private final FileService fileService;
+    private final int parallelism;
+    private final long parallelThresholdBytes;
+    private final ExecutorService executor;
+    private final Map<Path, Entry> cache = new ConcurrentHashMap<>();
+
+    public JsonlSchemaService(FileService fileService,
+                              @Value("${data.stats.parallelism:0}") int parallelism,
+                              @Value("${data.stats.parallel-threshold-bytes:67108864}") long parallelThresholdBytes) {
+        this.fileService = fileService;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.parallelThresholdBytes = parallelThresholdBytes;
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(this.parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "schema-scan-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 파일의 현재 스키마. 반환된 객체는 바꾸지 않는다.
+     */
+    public JsonlSchema getSchema(String fileName) throws IOException {
+        Path path = fileService.resolveDataFile(fileName);
+        BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+        long size = attrs.size();
+        long modified = attrs.lastModifiedTime().toMillis();
+
+        Entry entry = cache.computeIfAbsent(path, key -> new Entry());
+        synchronized (entry) {
+            if (entry.view != null && entry.size == size && entry.modified == modified) {
+                return entry.view;
+            }
+            long started = System.nanoTime();
+            boolean appended = entry.view != null && size > entry.size
+                    && JsonlCompression.of(path) == JsonlCompression.NONE
+                    && entry.fingerprint == fingerprint(path, entry.committedOffset);
+            if (!appended) {
+                entry.committed = new JsonlSchema();
+                entry.committedOffset = 0;
+            }
+            long from = entry.committedOffset;
+            Segment scanned = scan(path, from, size);
+            entry.committed.merge(scanned.committed);
+            entry.committedOffset = scanned.committedOffset;
+            entry.fingerprint = fingerprint(path, entry.committedOffset);
+            entry.size = size;
+            entry.modified = modified;
+            // 아직 줄바꿈으로 끝나지 않은 마지막 줄은 다음에 완성된 뒤 다시 읽어야 하므로 committed 에 넣지 않는다
+            entry.view = entry.committed.copy();
+            if (scanned.tail != null) {
+                entry.view.merge(scanned.tail);
+            }
+            log.debug("{} 스키마 {}: {}바이트부터 읽음, {}ms", path.getFileName(), appended ? "갱신" : "생성",
+                    from, (System.nanoTime() - started) / 1_000_000);
+            return entry.view;
+        }
+    }
+
+    /**
+     * from 부터 파일 끝까지 읽는다. 압축하지 않은 큰 파일은 줄 경계로 나눈 조각을 병렬로 읽고 순서대로 합친다.
+     */
+    private Segment scan(Path path, long from, long size) throws IOException {
+        if (parallelism < 2 || size - from < parallelThresholdBytes
+                || JsonlCompression.of(path) != JsonlCompression.NONE) {
+            return scanSegment(path, from, Long.MAX_VALUE);
+        }
+
+        List<Long> bounds = JsonlSegments.bounds(path, from, size, parallelism);
+        List<CompletableFuture<Segment>> futures = new ArrayList<>();
+        for (int i = 0; i < bounds.size(); i++) {
+            long start = bounds.get(i);
+            long end = i + 1 < bounds.size() ? bounds.get(i + 1) : Long.MAX_VALUE;
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return scanSegment(path, start, end);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, executor));
+        }
+
+        try {
+            Segment merged = futures.get(0).join();
+            for (int i = 1; i < futures.size(); i++) {
+                Segment next = futures.get(i).join();
+                merged.committed.merge(next.committed);
+                merged.committedOffset = next.committedOffset;
+                merged.tail = next.tail;
+            }
+            return merged;
+        } catch (CompletionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            throw e;
+        }
+    }
+
+    // [start, end) 범위의 줄을 읽어 완성된 줄은 committed 에 더하고, 끝나지 않은 마지막 줄은 tail 로 따로 둔다
+    private Segment scanSegment(Path path, long start, long end) throws IOException {
+        Segment segment = new Segment(start);
+        try (JsonlLineReader reader = new JsonlLineReader(JsonlCompression.of(path).open(path, start), start, 0)) {
+            while (reader.next() && reader.lineOffset() < end) {
+                if (reader.terminated()) {
+                    segment.committed.addLine(reader.line());
+                    segment.committedOffset = reader.position();
+                } else {
+                    segment.tail = new JsonlSchema();
+                    segment.tail.addLine(reader.line());
+                }
+            }
+        }
+        return segment;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    // end 바로 앞 FINGERPRINT_BYTES 바이트의 CRC. 파일 앞부분이 다시 쓰였는지 확인하는 데 쓴다
+    private static long fingerprint(Path path, long end) throws IOException {
+        if (JsonlCompression.of(path) != JsonlCompression.NONE) return 0;
+        int length = (int) Math.min(FINGERPRINT_BYTES, end);
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long position = end - length;
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, position + buffer.position());
+                if (read < 0) return -1;
+            }
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.flip());
+        return crc.getValue();
+    }
+
+    private static final class Segment {
+        private final JsonlSchema committed = new JsonlSchema();
+        private long committedOffset;
+        private JsonlSchema tail;
+
+        private Segment(long start) {
+            this.committedOffset = start;
+        }
+    }
+
+    private static final class Entry {
+        private long size;
+        private long modified;
+        private long committedOffset;
+        private long fingerprint;
+        private JsonlSchema committed;
+        private JsonlSchema view;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.demo.datafile;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 압축하지 않은 JSONL 파일을 줄 경계에 맞춘 조각으로 나눈다 (병렬 읽기용).
+ */
+final class JsonlSegments {
+
+    private JsonlSegments() {
+    }
+
+    /**
+     * from ~ size 를 parts 개로 나누고, 각 경계를 다음 줄 시작 위치로 맞춘다.
+     * 첫 항목은 from 이고, 조각 i 는 [bounds[i], bounds[i + 1]) 이며 마지막 조각은 파일 끝까지이다.
+     * 줄이 조각보다 길면 조각 수가 parts 보다 적을 수 있다.
+     */
+    static List<Long> bounds(Path path, long from, long size, int parts) throws IOException {
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(from);
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            for (int i = 1; i < parts; i++) {
+                long position = Math.max(from + (size - from) * i / parts, bounds.get(bounds.size() - 1));
+                long lineStart = -1;
+                while (lineStart < 0 && position < size) {
+                    buffer.clear();
+                    int read = channel.read(buffer, position);
+                    if (read <= 0) break;
+                    for (int j = 0; j < read; j++) {
+                        if (buffer.get(j) == '\n') {
+                            lineStart = position + j + 1;
+                            break;
+                        }
+                    }
+                    position += read;
+                }
+                if (lineStart < 0 || lineStart >= size) break;
+                if (lineStart > bounds.get(bounds.size() - 1)) {
+                    bounds.add(lineStart);
+                }
+            }
+        }
+        return bounds;
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.demo.datafile;
+
+import com.example.demo.service.FileService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 데이터 파일별 컬럼형 스냅샷({@link JsonlColumnarSnapshot}) 관리.
+ * 처음 조회할 때 백그라운드에서 만들고, 그동안은 빈 결과를 돌려주어 호출하는 쪽이 텍스트 파일을 직접 읽게 한다.
+ * 원본 파일의 크기나 수정 시각이 바뀌면 다시 만든다.
+ */
+@Service
+public class JsonlSnapshotService implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(JsonlSnapshotService.class);
+
+    private final FileService fileService;
+    private final Path snapshotDirectory;
+    private final boolean enabled;
+    private final ExecutorService executor;
+
+    private final Map<String, JsonlColumnarSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final Set<String> building = ConcurrentHashMap.newKeySet();
+    // 만들지 못한 파일 → 그때의 크기/수정 시각 (같은 파일로 다시 시도하지 않는다)
+    private final Map<String, String> failed = new ConcurrentHashMap<>();
+
+    public JsonlSnapshotService(FileService fileService,
+                                @Value("${data.cache-directory:cache}") String cacheDirectory,
+                                @Value("${data.snapshot.enabled:true}") boolean enabled) {
+        this.fileService = fileService;
+        this.snapshotDirectory = Paths.get(cacheDirectory).resolve("snapshot");
+        this.enabled = enabled;
+        // 스냅샷 생성은 파일 전체를 읽으므로 한 번에 하나씩만
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jsonl-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 원본 파일과 일치하는 스냅샷. 아직 없으면 생성을 예약하고 빈 값을 돌려준다.
+     */
+    public Optional<JsonlColumnarSnapshot> find(String fileName) throws IOException {
+        if (!enabled) return Optional.empty();
+        Path path = fileService.resolveDataFile(fileName);
+        BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+        long size = attrs.size();
+        long modified = attrs.lastModifiedTime().toMillis();
+
+        JsonlColumnarSnapshot snapshot = snapshots.get(fileName);
+        if (snapshot != null && snapshot.matches(size, modified)) {
+            return Optional.of(snapshot);
+        }
+
+        // 이전 실행에서 만들어 둔 스냅샷
+        Path snapshotFile = CacheFiles.path(snapshotDirectory, fileName, size, modified, ".col");
+        if (Files.exists(snapshotFile) && !building.contains(fileName)) {
+            snapshot = JsonlColumnarSnapshot.load(snapshotFile);
+            if (snapshot != null && snapshot.matches(size, modified)) {
+                snapshots.put(fileName, snapshot);
+                return Optional.of(snapshot);
+            }
+        }
+
+        if (!(size + "-" + modified).equals(failed.get(fileName)) && building.add(fileName)) {
+            executor.execute(() -> build(fileName, path, size, modified, snapshotFile));
+        }
+        return Optional.empty();
+    }
+
+    private void build(String fileName, Path path, long size, long modified, Path snapshotFile) {
+        try {
+            long started = System.nanoTime();
+            JsonlColumnarSnapshot snapshot = JsonlColumnarSnapshot.build(path, size, modified, snapshotFile);
+            if (snapshot != null) {
+                snapshots.put(fileName, snapshot);
+                CacheFiles.deleteStale(snapshotDirectory, fileName, ".col", snapshotFile);
+                log.info("{} 스냅샷 생성: {}행 {}컬럼, {}ms", fileName, snapshot.getRowCount(),
+                        snapshot.getColumns().size(), (System.nanoTime() - started) / 1_000_000);
+            }
+        } catch (IOException | RuntimeException e) {
+            failed.put(fileName, size + "-" + modified);
+            log.warn("{} 스냅샷 생성 실패: {}", fileName, e.getMessage());
+        } finally {
+            building.remove(fileName);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.demo.datafile;
+
+import com.example.demo.ingest.JsonlCompression;
+import com.example.demo.ingest.JsonlLineReader;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 데이터 파일 레코드를 파싱하는 대로 응답 스트림에 쓴다.
+ * 한 번에 한 레코드만 메모리에 두므로 파일 크기와 관계없이 힙 사용량이 일정하다.
+ */
+@Service
+public class JsonlStreamService {
+
+    private static final Logger log = LoggerFactory.getLogger(JsonlStreamService.class);
+
+    // 첫 레코드는 바로 보내고, 그 뒤로는 이 개수마다 flush 한다
+    private static final int FLUSH_INTERVAL = 1000;
+
+    private final JsonlIndexService jsonlIndexService;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public JsonlStreamService(JsonlIndexService jsonlIndexService) {
+        this.jsonlIndexService = jsonlIndexService;
+    }
+
+    public enum Format {
+        /** 레코드마다 JSON 한 줄 (application/x-ndjson) */
+        NDJSON,
+        /** /structured 와 같은 필드를 가진 JSON 객체. data 를 먼저 쓰고 columns, totalRecords 는 끝에 쓴다 */
+        JSON;
+
+        public static Format of(String name) {
+            return name == null || name.isBlank() ? NDJSON : valueOf(name.trim().toUpperCase());
+        }
+    }
+
+    /**
+     * 파일을 처음부터 읽어 out 에 쓴다. 파싱할 수 없는 줄은 건너뛴다.
+     */
+    public void write(Path path, Format format, OutputStream out) throws IOException {
+        long started = System.nanoTime();
+        long records = 0;
+        Set<String> columns = new LinkedHashSet<>();
+        try (JsonlLineReader reader = new JsonlLineReader(JsonlCompression.of(path).open(path));
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            // 응답 스트림은 서블릿 컨테이너가 닫는다
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            if (format == Format.NDJSON) {
+                generator.setRootValueSeparator(null);
+            } else {
+                generator.writeStartObject();
+                generator.writeArrayFieldStart("data");
+            }
+
+            while (reader.next()) {
+                String line = reader.line();
+                if (!JsonlLineIndex.isRecordLine(line)) continue;
+                Map<String, Object> record;
+                try {
+                    record = jsonlIndexService.parseRecord(line);
+                } catch (IOException e) {
+                    continue;
+                }
+                generator.writeObject(record);
+                if (format == Format.NDJSON) {
+                    generator.writeRaw('\n');
+                } else {
+                    columns.addAll(record.keySet());
+                }
+                if (records++ % FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+
+            if (format == Format.JSON) {
+                generator.writeEndArray();
+                generator.writeArrayFieldStart("columns");
+                for (String column : columns) {
+                    generator.writeString(column);
+                }
+                generator.writeEndArray();
+                generator.writeNumberField("totalRecords", records);
+                generator.writeEndObject();
+            }
+        }
+        log.debug("{} 스트리밍 완료: {}개 레코드, {}ms", path.getFileName(), records,
+                (System.nanoTime() - started) / 1_000_000);
+    }
+}
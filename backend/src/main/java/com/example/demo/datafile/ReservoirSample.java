@@ -0,0 +1,73 @@
+package com.example.demo.datafile;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 크기가 고정된 균등 표본 (reservoir sampling, Algorithm R).
+ * 지금까지 본 값 가운데 capacity 개를 같은 확률로 남긴다.
+ */
+public final class ReservoirSample {
+
+    private final int capacity;
+    private final List<String> items;
+    private long seen;
+
+    public ReservoirSample(int capacity) {
+        this.capacity = capacity;
+        this.items = new ArrayList<>(capacity);
+    }
+
+    public void offer(String value) {
+        seen++;
+        if (items.size() < capacity) {
+            items.add(value);
+            return;
+        }
+        long slot = ThreadLocalRandom.current().nextLong(seen);
+        if (slot < capacity) {
+            items.set((int) slot, value);
+        }
+    }
+
+    /**
+     * 두 표본을 합친다. 각 자리를 본 값 개수에 비례하는 확률로 어느 쪽에서 가져올지 정하므로,
+     * 결과는 두 입력을 이어 붙인 전체에 대한 균등 표본이 된다.
+     */
+    public void merge(ReservoirSample other) {
+        if (other.seen == 0) return;
+        List<String> mine = new ArrayList<>(items);
+        List<String> theirs = new ArrayList<>(other.items);
+        Collections.shuffle(mine, ThreadLocalRandom.current());
+        Collections.shuffle(theirs, ThreadLocalRandom.current());
+
+        long mineLeft = seen;
+        long theirsLeft = other.seen;
+        items.clear();
+        while (items.size() < capacity && (!mine.isEmpty() || !theirs.isEmpty())) {
+            boolean fromMine = theirs.isEmpty()
+                    || (!mine.isEmpty() && ThreadLocalRandom.current().nextLong(mineLeft + theirsLeft) < mineLeft);
+            if (fromMine) {
+                items.add(mine.remove(mine.size() - 1));
+                mineLeft--;
+            } else {
+                items.add(theirs.remove(theirs.size() - 1));
+                theirsLeft--;
+            }
+        }
+        seen += other.seen;
+    }
+
+    public ReservoirSample copy() {
+        ReservoirSample copy = new ReservoirSample(capacity);
+        copy.items.addAll(items);
+        copy.seen = seen;
+        return copy;
+    }
+
+    public List<String> getItems() {
+        return Collections.unmodifiableList(items);
+    }
+}
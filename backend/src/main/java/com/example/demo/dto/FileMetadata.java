@@ -0,0 +1,27 @@
+package com.example.demo.dto;
+
+import com.example.demo.entity.FileEntity;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 파일 목록/조회 응답. 본문은 포함하지 않으며 GET /api/files/{id}/content 로 따로 받는다.
+ */
+@Getter
+@AllArgsConstructor
+public class FileMetadata {
+    private Long id;
+    private String fileName;
+    private String filePath;
+    private Long fileSize;
+    private String contentHash;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    public static FileMetadata of(FileEntity entity) {
+        return new FileMetadata(entity.getId(), entity.getFileName(), entity.getFilePath(), entity.getFileSize(),
+                entity.getContentHash(), entity.getCreatedAt(), entity.getUpdatedAt());
+    }
+}
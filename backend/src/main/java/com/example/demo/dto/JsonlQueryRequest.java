@@ -0,0 +1,42 @@
+package com.example.demo.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 데이터 파일 조회 요청 (POST /api/files/query).
+ * <pre>
+ * {
+ *   "files": ["rss_2024.jsonl"],
+ *   "where": [{"field": "source", "op": "eq", "value": "BBC"},
+ *             {"field": "published", "op": "gte", "value": "2024-01-01"},
+ *             {"field": "title", "op": "contains", "value": "AI"}],
+ *   "select": ["title", "link", "published"],
+ *   "limit": 100
+ * }
+ * </pre>
+ */
+@Getter
+@Setter
+public class JsonlQueryRequest {
+    // 비어 있으면 데이터 디렉토리의 모든 JSONL 파일
+    private List<String> files = new ArrayList<>();
+    // 모두 만족하는 줄만 (AND). 비어 있거나 null 이면 모든 줄
+    private List<Condition> where = new ArrayList<>();
+    // 비어 있으면 모든 필드
+    private List<String> select = new ArrayList<>();
+    private Integer limit;
+
+    @Getter
+    @Setter
+    public static class Condition {
+        private String field;
+        // eq, ne, contains, startsWith, gt, gte, lt, lte, in, exists
+        // contains, startsWith 는 대소문자를 무시하고 나머지는 구분한다
+        private String op;
+        private Object value;
+    }
+}
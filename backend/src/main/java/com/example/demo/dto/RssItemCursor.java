@@ -0,0 +1,40 @@
+package com.example.demo.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * RSS 아이템 목록의 다음 페이지 위치. 마지막으로 받은 항목의 (collected_at, guid) 이며,
+ * 클라이언트에는 base64url 문자열로만 주고받는다.
+ */
+public record RssItemCursor(LocalDateTime collectedAt, String guid) {
+
+    private static final char SEPARATOR = '\n';
+
+    public static RssItemCursor of(RssItemSummary item) {
+        return new RssItemCursor(item.getCollectedAt(), item.getGuid());
+    }
+
+    public String encode() {
+        String value = collectedAt.toString() + SEPARATOR + guid;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException 이 클래스가 만든 문자열이 아닌 경우
+     */
+    public static RssItemCursor decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("잘못된 cursor 입니다: " + cursor);
+            }
+            return new RssItemCursor(LocalDateTime.parse(value.substring(0, separator)), value.substring(separator + 1));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("잘못된 cursor 입니다: " + cursor, e);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.demo.dto;
+
+import java.util.List;
+
+/**
+ * RSS 아이템 목록 한 페이지. nextCursor 가 null 이면 마지막 페이지다.
+ */
+public record RssItemPage(List<RssItemSummary> items, int size, String nextCursor) {
+}
@@ -0,0 +1,47 @@
+package com.example.demo.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * RSS 아이템 목록 응답. LONGTEXT 본문(description, content_encoded, raw_xml)과
+ * author/category 컬렉션은 fields 로 요청한 경우에만 채운다.
+ */
+@Getter
+@Setter
+public class RssItemSummary {
+
+    /** fields= 로 요청해야 포함되는 필드 */
+    public static final Set<String> HEAVY_FIELDS = Set.of("description", "contentEncoded", "rawXml", "author", "category");
+
+    private String guid;
+    private String source;
+    private String title;
+    private String link;
+    private LocalDateTime pubDate;
+    private LocalDateTime updated;
+    private String dcCreator;
+    private String dcSubject;
+    private LocalDateTime collectedAt;
+    private String comments;
+    private String language;
+    private String copyright;
+    private Boolean processed;
+    private String errorMessage;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String description;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String contentEncoded;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String rawXml;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<String> author;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<String> category;
+}
@@ -1,5 +1,6 @@
 package com.example.demo.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Builder;
 import lombok.Getter;
@@ -32,6 +33,12 @@ public class FileEntity {
     @Column(name = "file_size")
     private Long fileSize;
 
+    // 본문의 SHA-256. 본문은 BlobStore 에 이 해시 이름으로 저장된다
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    // BlobStore 로 옮기기 전에 저장된 본문 (처음 읽을 때 BlobStore 로 옮기고 비운다)
+    @JsonIgnore
     @Column(name = "content", columnDefinition = "LONGTEXT")
     private String content;
 
@@ -44,10 +51,10 @@ public class FileEntity {
     private LocalDateTime updatedAt;
 
     @Builder
-    public FileEntity(String fileName, String filePath, Long fileSize, String content) {
+    public FileEntity(String fileName, String filePath, Long fileSize, String contentHash) {
         this.fileName = fileName;
         this.filePath = filePath;
         this.fileSize = fileSize;
-        this.content = content;
+        this.contentHash = contentHash;
     }
 }
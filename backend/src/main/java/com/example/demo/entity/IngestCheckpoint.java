@@ -0,0 +1,62 @@
+package com.example.demo.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 데이터 파일별 마지막으로 적재 완료된 위치.
+ * 파일 식별값(fileKey), 크기/수정 시각, 체크포인트 앞 구간의 체크섬으로
+ * 파일 교체(rotation), 잘림(truncation), 덮어쓰기를 감지한다.
+ */
+@Entity
+@Table(name = "ingest_checkpoint", uniqueConstraints = {
+    @UniqueConstraint(name = "ux_ingest_checkpoint_file_target", columnNames = {"file_name", "target"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class IngestCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "file_name", nullable = false)
+    private String fileName;
+
+    @Column(name = "target", nullable = false, length = 50)
+    private String target;
+
+    @Column(name = "file_key", length = 500)
+    private String fileKey;
+
+    @Column(name = "file_size")
+    private Long fileSize;
+
+    @Column(name = "last_modified")
+    private Long lastModified;
+
+    // byteOffset 바로 앞 구간(최대 4KB)의 CRC32. 이어서 적재하기 전에 같은 내용인지 확인한다 (압축 파일은 null)
+    @Column(name = "tail_checksum")
+    private Long tailChecksum;
+
+    @Column(name = "byte_offset", nullable = false)
+    private Long byteOffset;
+
+    @Column(name = "line_number", nullable = false)
+    private Long lineNumber;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public IngestCheckpoint(String fileName, String target) {
+        this.fileName = fileName;
+        this.target = target;
+        this.byteOffset = 0L;
+        this.lineNumber = 0L;
+    }
+}
@@ -1,10 +1,13 @@
 package com.example.demo.entity;
 
+import com.example.demo.ingest.ContentHash;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "jsonl_data")
+@Table(name = "jsonl_data", indexes = {
+    @Index(name = "ux_jsonl_data_guid", columnList = "guid", unique = true)
+})
 public class JsonlData {
 
     @Id
@@ -50,15 +53,27 @@ public class JsonlData {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // 내용 컬럼의 지문. 같은 guid 가 다시 들어왔을 때 바뀌었는지 비교
+    @Column(name = "content_hash")
+    private Long contentHash;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        contentHash = computeContentHash();
     }
 
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        contentHash = computeContentHash();
+    }
+
+    /** 내용 컬럼(guid, 생성/수정 시각 제외)의 64비트 해시 */
+    public long computeContentHash() {
+        return ContentHash.of(source, title, link, pubDate, description, author, category,
+                tags, groupName, scrapedAt);
     }
 
     // Constructors
@@ -106,4 +121,7 @@ public class JsonlData {
 
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    public Long getContentHash() { return contentHash; }
+    public void setContentHash(Long contentHash) { this.contentHash = contentHash; }
 }
@@ -1,12 +1,16 @@
 package com.example.demo.entity;
 
+import com.example.demo.ingest.ContentHash;
 import lombok.*;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "raw_rss_item")
+@Table(name = "raw_rss_item", indexes = {
+    // 목록 커서 페이지(collected_at DESC, guid DESC)와 최근 항목 조회용
+    @Index(name = "idx_raw_rss_item_collected_at_guid", columnList = "collected_at, guid")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -83,10 +87,26 @@ public class RawRssItem {
     @Column(name = "error_message", length = 2000)
     private String errorMessage;
 
+    // 피드 내용 컬럼의 지문. 다시 적재할 때 바뀐 행만 쓰기 위해 사용
+    @Column(name = "content_hash")
+    private Long contentHash;
+
     @PrePersist
     protected void onCreate() {
         if (collectedAt == null) {
             collectedAt = LocalDateTime.now();
         }
+        contentHash = computeContentHash();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        contentHash = computeContentHash();
+    }
+
+    /** 피드 내용 컬럼(수집 시각, 후처리 상태 제외)의 64비트 해시 */
+    public long computeContentHash() {
+        return ContentHash.of(source, title, link, pubDate, updated, dcCreator, description,
+                contentEncoded, dcSubject, comments, language, copyright, rawXml);
     }
 }
@@ -0,0 +1,282 @@
+package com.example.demo.ingest;
+
+import com.example.demo.entity.RawRssItem;
+import com.example.demo.repository.jpa.RawRssItemRepositoryImpl;
+import com.example.demo.service.FileService;
+import com.example.demo.service.RawRssItemsChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * MariaDB LOAD DATA LOCAL INFILE 를 이용한 대용량 적재 (야간 백필용).
+ * JSONL 을 임시 TSV 파일로 변환하여 임시 스테이징 테이블에 한 번에 올린 뒤,
+ * 새 guid 는 INSERT ... SELECT 로, 바뀐 guid 는 값이 다른 컬럼만 UPDATE ... JOIN 으로 raw_rss_item 에 합친다.
+ * 서버나 드라이버에서 local infile 이 꺼져 있으면 JDBC 배치 적재로 대체한다.
+ * LOAD DATA LOCAL INFILE 은 이 서비스가 따로 여는 연결에서만 허용한다 (공용 커넥션 풀에는 켜지 않는다).
+ * 적재가 끝나면 raw-rss-item 체크포인트를 파일 끝으로 옮겨, 이후 스트리밍 적재는 새로 추가된 줄만 읽는다.
+ */
+@Service
+public class BulkLoadService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkLoadService.class);
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSSSSS");
+    private static final String STAGING_TABLE = "raw_rss_item_staging";
+    // guid 마다 파일에서 마지막으로 나온 스테이징 행 번호
+    private static final String LATEST_TABLE = "raw_rss_item_staging_latest";
+
+    private static final String CREATE_STAGING_SQL = "CREATE TEMPORARY TABLE " + STAGING_TABLE + " (" +
+            "seq BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+            "guid VARCHAR(255) NOT NULL, source VARCHAR(500), title VARCHAR(2000), link VARCHAR(2000), " +
+            "pub_date DATETIME(6), updated DATETIME(6), dc_creator VARCHAR(500), description LONGTEXT, " +
+            "content_encoded LONGTEXT, dc_subject VARCHAR(1000), collected_at DATETIME(6), comments VARCHAR(2000), " +
+            "language VARCHAR(50), copyright VARCHAR(1000), raw_xml LONGTEXT, processed TINYINT(1), " +
+            "error_message VARCHAR(2000), content_hash BIGINT) DEFAULT CHARSET = utf8mb4";
+
+    private final FileService fileService;
+    private final DeadLetterStore deadLetterStore;
+    private final IngestCheckpointService checkpointService;
+    private final DataSourceProperties dataSourceProperties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Path tempDirectory;
+
+    public BulkLoadService(FileService fileService,
+                           DeadLetterStore deadLetterStore,
+                           IngestCheckpointService checkpointService,
+                           DataSourceProperties dataSourceProperties,
+                           ApplicationEventPublisher eventPublisher,
+                           @Value("${ingest.bulk-load.temp-directory:${java.io.tmpdir}}") String tempDirectory) {
+        this.fileService = fileService;
+        this.deadLetterStore = deadLetterStore;
+        this.checkpointService = checkpointService;
+        this.dataSourceProperties = dataSourceProperties;
+        this.eventPublisher = eventPublisher;
+        this.tempDirectory = Paths.get(tempDirectory);
+    }
+
+    public IngestStats bulkLoadRawRssItems(String fileName) throws IOException {
+        Path source = fileService.resolveDataFile(fileName);
+
+        try (Connection connection = openConnection()) {
+            if (!localInfileEnabled(connection)) {
+                log.info("서버의 local_infile 이 꺼져 있어 JDBC 배치 적재로 대체합니다: {}", fileName);
+                return fileService.streamJsonlToRawRssItem(fileName, new IngestStats(fileName, "streaming (bulk-load fallback)"), true);
+            }
+
+            IngestStats stats = deadLetterStore.attach(new IngestStats(fileName, "bulk-load"), IngestTarget.RAW_RSS_ITEM);
+            Path tsv = Files.createTempFile(Files.createDirectories(tempDirectory), "raw_rss_item-", ".tsv");
+            boolean loaded;
+            try (IngestCheckpointService.Session session =
+                         checkpointService.open(fileName, IngestTarget.RAW_RSS_ITEM, source, true)) {
+                TsvResult tsvResult = writeTsv(session.reader(), tsv, stats);
+                loaded = tsvResult.rows() == 0 || load(connection, tsv, stats);
+                if (loaded) {
+                    session.committed(tsvResult.endOffset(), tsvResult.endLine());
+                }
+            } finally {
+                Files.deleteIfExists(tsv);
+                stats.finish();
+            }
+            if (!loaded) {
+                log.info("LOAD DATA LOCAL INFILE 을 사용할 수 없어 JDBC 배치 적재로 대체합니다: {}", fileName);
+                // 대체 적재가 같은 줄을 다시 거부하며 자기 dead-letter 파일에 기록한다
+                deadLetterStore.delete(stats.getId());
+                return fileService.streamJsonlToRawRssItem(fileName, new IngestStats(fileName, "streaming (bulk-load fallback)"), true);
+            }
+            eventPublisher.publishEvent(new RawRssItemsChangedEvent(stats.getRowsWritten()));
+            log.info("JSONL 적재 완료 {}", stats);
+            return stats;
+        } catch (SQLException e) {
+            throw new IllegalStateException("대용량 적재 실패: " + e.getMessage(), e);
+        }
+    }
+
+    // 공용 datasource 와 같은 DB 에 allowLocalInfile 을 켠 연결을 따로 연다
+    private Connection openConnection() throws SQLException {
+        String url = dataSourceProperties.determineUrl();
+        String localInfileUrl = url + (url.contains("?") ? "&" : "?") + "allowLocalInfile=true";
+        return DriverManager.getConnection(localInfileUrl,
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+    }
+
+    private boolean localInfileEnabled(Connection connection) {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT @@GLOBAL.local_infile")) {
+            return rs.next() && rs.getInt(1) == 1;
+        } catch (SQLException e) {
+            log.debug("local_infile 확인 실패: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /** TSV 로 옮긴 행 수와, 적재가 끝났을 때 체크포인트로 남길 위치 */
+    private record TsvResult(long rows, long endOffset, long endLine) { }
+
+    // JSONL 을 LOAD DATA 기본 형식(탭 구분, \ 이스케이프, \N = NULL)의 TSV 로 변환
+    private TsvResult writeTsv(JsonlLineReader reader, Path tsv, IngestStats stats) throws IOException {
+        long rows = 0;
+        long endOffset = reader.position();
+        long endLine = reader.lineNumber();
+        String now = LocalDateTime.now().format(TIMESTAMP);
+        try (reader;
+             Writer out = new BufferedWriter(Files.newBufferedWriter(tsv, StandardCharsets.UTF_8), 256 * 1024)) {
+            while (reader.next()) {
+                stats.lineRead();
+                String line = reader.line();
+                if (line.isBlank()) {
+                    endOffset = reader.position();
+                    endLine = reader.lineNumber();
+                    continue;
+                }
+                RawRssItem item;
+                try {
+                    item = fileService.parseRawRssItem(line);
+                } catch (Exception e) {
+                    if (!reader.terminated()) {
+                        // 줄바꿈 없이 끝난 마지막 줄은 아직 쓰는 중일 수 있으므로 다음 적재 때 다시 읽는다
+                        continue;
+                    }
+                    stats.rejected(reader.lineNumber(), reader.lineOffset(), line, e);
+                    endOffset = reader.position();
+                    endLine = reader.lineNumber();
+                    continue;
+                }
+                endOffset = reader.position();
+                endLine = reader.lineNumber();
+                if (item.getGuid() == null) continue;
+
+                field(out, item.getGuid(), false);
+                field(out, item.getSource(), true);
+                field(out, item.getTitle(), true);
+                field(out, item.getLink(), true);
+                field(out, timestamp(item.getPubDate()), true);
+                field(out, timestamp(item.getUpdated()), true);
+                field(out, item.getDcCreator(), true);
+                field(out, item.getDescription(), true);
+                field(out, item.getContentEncoded(), true);
+                field(out, item.getDcSubject(), true);
+                field(out, item.getCollectedAt() != null ? timestamp(item.getCollectedAt()) : now, true);
+                field(out, item.getComments(), true);
+                field(out, item.getLanguage(), true);
+                field(out, item.getCopyright(), true);
+                field(out, item.getRawXml(), true);
+                field(out, Boolean.TRUE.equals(item.getProcessed()) ? "1" : "0", true);
+                field(out, item.getErrorMessage(), true);
+                field(out, Long.toString(item.computeContentHash()), true);
+                out.write('\n');
+                rows++;
+                stats.bytesRead(reader.position());
+            }
+        }
+        return new TsvResult(rows, endOffset, endLine);
+    }
+
+    /**
+     * TSV 를 스테이징 테이블에 올리고 raw_rss_item 으로 합친다.
+     * LOAD DATA 자체가 거부되면(드라이버 설정 등) false.
+     */
+    private boolean load(Connection connection, Path tsv, IngestStats stats) throws SQLException {
+        String columns = String.join(", ", RawRssItemRepositoryImpl.COLUMNS);
+        String path = tsv.toAbsolutePath().toString().replace('\\', '/').replace("'", "\\'");
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TEMPORARY TABLE IF EXISTS " + STAGING_TABLE + ", " + LATEST_TABLE);
+            statement.execute(CREATE_STAGING_SQL);
+            try {
+                long loaded;
+                try {
+                    loaded = statement.executeLargeUpdate("LOAD DATA LOCAL INFILE '" + path + "' INTO TABLE " + STAGING_TABLE
+                            + " CHARACTER SET utf8mb4 FIELDS TERMINATED BY '\\t' ESCAPED BY '\\\\' LINES TERMINATED BY '\\n'"
+                            + " (" + columns + ")");
+                } catch (SQLException e) {
+                    log.warn("LOAD DATA LOCAL INFILE 실패: {}", e.getMessage());
+                    return false;
+                }
+
+                statement.execute("CREATE TEMPORARY TABLE " + LATEST_TABLE + " (seq BIGINT PRIMARY KEY)");
+                statement.execute("INSERT INTO " + LATEST_TABLE + " SELECT MAX(seq) FROM " + STAGING_TABLE + " GROUP BY guid");
+
+                // guid 마다 마지막 행 기준으로 센다. 같은 guid 의 앞선 줄은 중복으로 센다
+                String latestRows = " FROM " + STAGING_TABLE + " s JOIN " + LATEST_TABLE + " l ON l.seq = s.seq";
+                long distinct = count(statement, "SELECT COUNT(*) FROM " + LATEST_TABLE);
+                long unchanged = count(statement, "SELECT COUNT(*)" + latestRows
+                        + " JOIN raw_rss_item r ON r.guid = s.guid AND r.content_hash = s.content_hash");
+                long changed = count(statement, "SELECT COUNT(*)" + latestRows
+                        + " JOIN raw_rss_item r ON r.guid = s.guid AND NOT (r.content_hash <=> s.content_hash)");
+                long inserted = distinct - unchanged - changed;
+
+                // guid 마다 파일에서 마지막으로 나온 줄만 골라 저장된 내용과 비교한다 (위의 개수와 같은 행 집합).
+                // 바뀐 행은 컬럼마다 값이 다른 행만 갱신하여, 값이 같은 LONGTEXT 컬럼은 다시 쓰지 않는다
+                String changedRows = "UPDATE raw_rss_item r JOIN " + STAGING_TABLE + " s ON s.guid = r.guid"
+                        + " JOIN " + LATEST_TABLE + " l ON l.seq = s.seq";
+                for (String column : RawRssItemRepositoryImpl.CONTENT_COLUMN_NAMES) {
+                    statement.executeLargeUpdate(changedRows + " SET r." + column + " = s." + column
+                            + " WHERE NOT (r.content_hash <=> s.content_hash) AND NOT (r." + column + " <=> s." + column + ")");
+                }
+                statement.executeLargeUpdate(changedRows + " SET r.content_hash = s.content_hash"
+                        + " WHERE NOT (r.content_hash <=> s.content_hash)");
+
+                // 새 guid 는 따로 INSERT ... SELECT
+                String stagedColumns = "s." + String.join(", s.", RawRssItemRepositoryImpl.COLUMNS);
+                statement.executeLargeUpdate("INSERT INTO raw_rss_item (" + columns + ") SELECT " + stagedColumns
+                        + latestRows + " LEFT JOIN raw_rss_item r ON r.guid = s.guid WHERE r.guid IS NULL");
+                stats.rowsWritten(inserted + changed);
+                stats.updated(changed);
+                stats.unchanged(unchanged);
+                stats.duplicates(loaded - distinct);
+                return true;
+            } finally {
+                statement.execute("DROP TEMPORARY TABLE IF EXISTS " + STAGING_TABLE + ", " + LATEST_TABLE);
+            }
+        }
+    }
+
+    private static long count(Statement statement, String sql) throws SQLException {
+        try (ResultSet rs = statement.executeQuery(sql)) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+
+    private static String timestamp(LocalDateTime value) {
+        return value == null ? null : value.format(TIMESTAMP);
+    }
+
+    private static void field(Writer out, String value, boolean separator) throws IOException {
+        if (separator) {
+            out.write('\t');
+        }
+        if (value == null) {
+            out.write("\\N");
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> out.write("\\\\");
+                case '\t' -> out.write("\\t");
+                case '\n' -> out.write("\\n");
+                case '\r' -> out.write("\\r");
+                case '\0' -> out.write("\\0");
+                default -> out.write(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.demo.ingest;
+
+/**
+ * 레코드 내용 지문(64비트 해시). 같은 guid 로 다시 들어온 레코드가 바뀌었는지 비교하는 데 쓴다.
+ * 필드 앞뒤 공백과 CR 은 무시하고, null 과 빈 문자열은 구분한다.
+ * 암호학적 해시가 아니므로 내용 비교 외의 용도로 쓰지 않는다.
+ */
+public final class ContentHash {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private ContentHash() {
+    }
+
+    public static long of(Object... fields) {
+        long h = FNV_OFFSET;
+        for (Object field : fields) {
+            if (field == null) {
+                h = (h ^ 0xff) * FNV_PRIME;
+            } else {
+                h = (h ^ 0xfe) * FNV_PRIME;
+                String value = field.toString();
+                int start = 0;
+                int end = value.length();
+                while (start < end && Character.isWhitespace(value.charAt(start))) start++;
+                while (end > start && Character.isWhitespace(value.charAt(end - 1))) end--;
+                for (int i = start; i < end; i++) {
+                    char c = value.charAt(i);
+                    if (c == '\r') continue;
+                    h = (h ^ (c & 0xff)) * FNV_PRIME;
+                    h = (h ^ (c >>> 8)) * FNV_PRIME;
+                }
+            }
+            // 필드 경계 ("ab","c" 와 "a","bc" 를 구분)
+            h = (h ^ 0x1f) * FNV_PRIME;
+        }
+        // murmur3 finalizer 로 하위 비트까지 고르게 섞는다
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.demo.ingest;
+
+import com.example.demo.service.FileService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * 데이터 디렉토리를 감시하여 새로 생기거나 커진 JSONL 파일을 자동으로 적재한다.
+ * java.nio WatchService 를 사용하고, 쓸 수 없는 환경(네트워크 드라이브 등)에서는 주기적인 폴링으로 대체한다.
+ * 파일에 쓰기가 몰리는 동안에는 기다렸다가 debounce-ms 동안 변화가 없을 때 적재 작업을 등록한다.
+ * 적재는 체크포인트부터 이어서 하므로 파일이 커질 때마다 추가된 부분만 읽는다.
+ */
+@Component
+@ConditionalOnProperty(name = "ingest.watch.enabled", havingValue = "true")
+public class DataDirectoryWatcher implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(DataDirectoryWatcher.class);
+    private static final long CHECK_INTERVAL_MILLIS = 500;
+
+    private final FileService fileService;
+    private final IngestJobService ingestJobService;
+    private final IngestTarget target;
+    private final long debounceMillis;
+    private final long pollIntervalMillis;
+    private final boolean forcePolling;
+
+    // 변경이 감지되어 적재를 기다리는 파일과 마지막 변경 시각
+    private final Map<String, Long> pending = new ConcurrentHashMap<>();
+    // 폴링 모드에서 직전에 본 파일 크기/수정 시각
+    private final Map<String, String> lastSeen = new HashMap<>();
+
+    private volatile boolean running;
+    private ScheduledExecutorService scheduler;
+    private Thread watchThread;
+    private WatchService watchService;
+
+    public DataDirectoryWatcher(FileService fileService,
+                                IngestJobService ingestJobService,
+                                @Value("${ingest.watch.target:raw-rss-item}") String target,
+                                @Value("${ingest.watch.debounce-ms:2000}") long debounceMillis,
+                                @Value("${ingest.watch.poll-interval-ms:5000}") long pollIntervalMillis,
+                                @Value("${ingest.watch.force-polling:false}") boolean forcePolling) {
+        this.fileService = fileService;
+        this.ingestJobService = ingestJobService;
+        this.target = IngestTarget.from(target);
+        this.debounceMillis = debounceMillis;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.forcePolling = forcePolling;
+    }
+
+    @Override
+    public void start() {
+        Path directory = fileService.getDataDirectory();
+        running = true;
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "data-directory-watcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // 꺼져 있는 동안 커진 파일도 적재되도록 시작할 때 한 번 모두 확인
+        scanDirectory(true);
+
+        if (!forcePolling && startWatchService(directory)) {
+            log.info("데이터 디렉토리 감시 시작 (WatchService): {}", directory);
+        } else {
+            scheduler.scheduleWithFixedDelay(() -> scanDirectory(false),
+                    pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+            log.info("데이터 디렉토리 감시 시작 (폴링 {}ms): {}", pollIntervalMillis, directory);
+        }
+        scheduler.scheduleWithFixedDelay(this::submitSettledFiles,
+                CHECK_INTERVAL_MILLIS, CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    private boolean startWatchService(Path directory) {
+        try {
+            watchService = directory.getFileSystem().newWatchService();
+            directory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY);
+        } catch (IOException | UnsupportedOperationException e) {
+            log.warn("WatchService 를 사용할 수 없어 폴링으로 대체합니다: {}", e.getMessage());
+            closeWatchService();
+            return false;
+        }
+
+        watchThread = new Thread(this::watchLoop, "data-directory-watch-service");
+        watchThread.setDaemon(true);
+        watchThread.start();
+        return true;
+    }
+
+    private void watchLoop() {
+        while (running) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == OVERFLOW) {
+                    scanDirectory(true);
+                } else if (event.context() instanceof Path changed) {
+                    markChanged(changed.getFileName().toString());
+                }
+            }
+            if (!key.reset()) {
+                log.warn("데이터 디렉토리를 더 이상 감시할 수 없어 폴링으로 대체합니다");
+                scheduler.scheduleWithFixedDelay(() -> scanDirectory(false),
+                        pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+                return;
+            }
+        }
+    }
+
+    // 크기나 수정 시각이 바뀐 파일을 찾는다. all 이면 모든 파일을 대상으로 한다.
+    private synchronized void scanDirectory(boolean all) {
+        Path directory = fileService.getDataDirectory();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String fileName = file.getFileName().toString();
+                if (!fileService.isJsonlFileName(fileName)) continue;
+                BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+                if (!attrs.isRegularFile()) continue;
+                String signature = attrs.size() + "/" + attrs.lastModifiedTime().toMillis();
+                if (!signature.equals(lastSeen.put(fileName, signature)) || all) {
+                    markChanged(fileName);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("데이터 디렉토리를 읽을 수 없습니다: {}", e.getMessage());
+        }
+    }
+
+    private void markChanged(String fileName) {
+        if (fileService.isJsonlFileName(fileName)) {
+            pending.put(fileName, System.currentTimeMillis());
+        }
+    }
+
+    // debounce 시간 동안 더 이상 바뀌지 않은 파일을 적재 작업으로 등록한다
+    private void submitSettledFiles() {
+        long now = System.currentTimeMillis();
+        for (Map.Entry<String, Long> entry : pending.entrySet()) {
+            String fileName = entry.getKey();
+            if (now - entry.getValue() < debounceMillis) continue;
+            if (ingestJobService.isActive(fileName, target)) continue; // 끝난 뒤 다시 확인
+
+            try {
+                IngestJob job = ingestJobService.submit(fileName, target, false);
+                pending.remove(fileName, entry.getValue());
+                log.debug("{} 변경 감지, 적재 작업 {} 등록", fileName, job.getId());
+            } catch (NoSuchFileException e) {
+                pending.remove(fileName, entry.getValue());
+            } catch (IOException e) {
+                pending.remove(fileName, entry.getValue());
+                log.warn("{} 자동 적재 실패: {}", fileName, e.getMessage());
+            } catch (RejectedExecutionException e) {
+                // 대기열이 가득 차면 다음 확인 때 다시 시도
+            } catch (RuntimeException e) {
+                log.warn("{} 자동 적재 등록 실패: {}", fileName, e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        if (watchThread != null) {
+            watchThread.interrupt();
+        }
+        closeWatchService();
+    }
+
+    private void closeWatchService() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException ignored) {
+                // 종료 중
+            }
+            watchService = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
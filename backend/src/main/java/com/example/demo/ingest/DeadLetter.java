@@ -0,0 +1,21 @@
+package com.example.demo.ingest;
+
+/**
+ * 적재하지 못한 JSONL 한 줄과 그 위치/원인.
+ *
+ * @param jobId      줄을 거부한 적재 작업(통계) ID
+ * @param sink       다중 적재에서 저장에 실패한 sink 이름. 파싱 실패처럼 모든 sink 에 해당하면 null
+ * @param byteOffset 원본 파일에서 줄이 시작하는 바이트 위치 (알 수 없으면 -1)
+ * @param lineNumber 원본 파일의 줄 번호 (1부터)
+ */
+public record DeadLetter(String jobId,
+                         String sourceFile,
+                         IngestTarget target,
+                         String sink,
+                         long byteOffset,
+                         long lineNumber,
+                         String errorClass,
+                         String message,
+                         String line,
+                         String failedAt) {
+}
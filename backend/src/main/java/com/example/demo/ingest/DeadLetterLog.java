@@ -0,0 +1,71 @@
+package com.example.demo.ingest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+
+/**
+ * 적재 작업 하나의 dead-letter JSONL 파일.
+ * 거부된 줄이 처음 나올 때 파일을 만들고, 버퍼에 모았다가 작업이 끝나면 닫는다.
+ * 파서 스레드 여러 개가 동시에 기록할 수 있다.
+ */
+public class DeadLetterLog {
+
+    private static final Logger log = LoggerFactory.getLogger(DeadLetterLog.class);
+
+    private final Path file;
+    private final String jobId;
+    private final String sourceFile;
+    private final IngestTarget target;
+    private final String sink;
+    private final ObjectMapper objectMapper;
+    private BufferedWriter writer;
+    private boolean failed;
+
+    DeadLetterLog(Path file, String jobId, String sourceFile, IngestTarget target, String sink,
+                  ObjectMapper objectMapper) {
+        this.file = file;
+        this.jobId = jobId;
+        this.sourceFile = sourceFile;
+        this.target = target;
+        this.sink = sink;
+        this.objectMapper = objectMapper;
+    }
+
+    public synchronized void append(long lineNumber, long byteOffset, String line, Throwable error) {
+        if (failed) return;
+        DeadLetter deadLetter = new DeadLetter(jobId, sourceFile, target, sink, byteOffset, lineNumber,
+                error.getClass().getName(), error.getMessage(), line, LocalDateTime.now().toString());
+        try {
+            if (writer == null) {
+                Files.createDirectories(file.getParent());
+                writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            writer.write(objectMapper.writeValueAsString(deadLetter));
+            writer.newLine();
+        } catch (IOException e) {
+            // dead-letter 기록 실패로 적재 자체를 멈추지는 않는다
+            failed = true;
+            log.warn("dead-letter 파일 기록 실패 {}: {}", file, e.getMessage());
+        }
+    }
+
+    public synchronized void close() {
+        if (writer == null) return;
+        try {
+            writer.close();
+        } catch (IOException e) {
+            log.warn("dead-letter 파일 닫기 실패 {}: {}", file, e.getMessage());
+        }
+        writer = null;
+    }
+}
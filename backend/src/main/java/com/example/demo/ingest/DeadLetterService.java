@@ -0,0 +1,109 @@
+package com.example.demo.ingest;
+
+import com.example.demo.entity.RawRssItem;
+import com.example.demo.service.FileService;
+import com.example.demo.service.JsonlDataService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * dead-letter 재처리.
+ * 원본 파일을 다시 읽지 않고 dead-letter 파일에 남은 줄만 다시 파싱/저장한다.
+ * 이번에도 실패한 줄은 재처리 작업의 dead-letter 파일에 원래 위치와 함께 다시 기록된다.
+ */
+@Service
+public class DeadLetterService {
+
+    private static final Logger log = LoggerFactory.getLogger(DeadLetterService.class);
+
+    private final DeadLetterStore deadLetterStore;
+    private final FileService fileService;
+    private final JsonlDataService jsonlDataService;
+    private final IngestBatchWriter batchWriter;
+    private final MultiSinkIngestService multiSinkIngestService;
+
+    public DeadLetterService(DeadLetterStore deadLetterStore,
+                             FileService fileService,
+                             JsonlDataService jsonlDataService,
+                             IngestBatchWriter batchWriter,
+                             MultiSinkIngestService multiSinkIngestService) {
+        this.deadLetterStore = deadLetterStore;
+        this.fileService = fileService;
+        this.jsonlDataService = jsonlDataService;
+        this.batchWriter = batchWriter;
+        this.multiSinkIngestService = multiSinkIngestService;
+    }
+
+    /**
+     * @param jobId 재처리할 dead-letter 파일의 작업 ID
+     * @return 재처리 통계. 모두 성공하면 원래 dead-letter 파일은 지운다
+     */
+    public IngestStats redrive(String jobId) throws IOException {
+        List<DeadLetter> deadLetters = deadLetterStore.read(jobId);
+        if (deadLetters.isEmpty()) {
+            return new IngestStats(jobId, "redrive");
+        }
+        DeadLetter first = deadLetters.get(0);
+        IngestStats stats = deadLetterStore.attach(new IngestStats(first.sourceFile(), "redrive"), first.target());
+
+        try {
+            switch (first.target()) {
+                case JSONL_DATA -> redrive(deadLetters, stats,
+                        jsonlDataService::parseJsonlData, jsonlDataService::writeChunk);
+                // sink 이름이 붙은 줄은 그 sink 에서만 실패했으므로 그 sink 로만 다시 저장한다
+                case ALL -> redrive(deadLetters, stats,
+                        RssJsonlRecord::parse, multiSinkIngestService.writer(stats, first.sink()));
+                default -> redrive(deadLetters, stats, line -> {
+                    RawRssItem item = fileService.parseRawRssItem(line);
+                    return item.getGuid() != null ? item : null;
+                }, batchWriter::writeRawRssItems);
+            }
+        } finally {
+            stats.finish();
+        }
+
+        boolean sinkErrors = stats.getSinks().values().stream().anyMatch(sink -> sink.getErrors() > 0);
+        if (stats.getErrors() == 0 && !sinkErrors) {
+            deadLetterStore.delete(jobId);
+        }
+        log.info("dead-letter {} 재처리 완료 {}", jobId, stats);
+        return stats;
+    }
+
+    private <T> void redrive(List<DeadLetter> deadLetters, IngestStats stats,
+                             IngestPipeline.LineParser<T> parser, IngestPipeline.ChunkWriter<T> writer) {
+        List<T> chunk = new ArrayList<>(batchWriter.getBatchSize());
+        for (DeadLetter deadLetter : deadLetters) {
+            stats.lineRead();
+            try {
+                T item = parser.parse(deadLetter.line());
+                if (item != null) {
+                    stats.source(item, deadLetter.lineNumber(), deadLetter.byteOffset(), deadLetter.line());
+                    chunk.add(item);
+                }
+            } catch (Exception e) {
+                stats.rejected(deadLetter.lineNumber(), deadLetter.byteOffset(), deadLetter.line(), e);
+            }
+            if (chunk.size() >= batchWriter.getBatchSize()) {
+                write(chunk, stats, writer);
+                chunk = new ArrayList<>(batchWriter.getBatchSize());
+            }
+        }
+        if (!chunk.isEmpty()) {
+            write(chunk, stats, writer);
+        }
+    }
+
+    private static <T> void write(List<T> chunk, IngestStats stats, IngestPipeline.ChunkWriter<T> writer) {
+        try {
+            writer.write(chunk, stats);
+        } finally {
+            chunk.forEach(stats::released);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.demo.ingest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * 적재 작업별 dead-letter 파일 ({작업 ID}.jsonl) 보관소.
+ */
+@Component
+public class DeadLetterStore {
+
+    private static final Pattern ID_PATTERN = Pattern.compile("[A-Za-z0-9-]+");
+    private static final String EXTENSION = ".jsonl";
+
+    private final Path directory;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public DeadLetterStore(@Value("${ingest.dead-letter.directory:dead-letters}") String directory) {
+        this.directory = Paths.get(directory);
+    }
+
+    /** 적재 통계에 dead-letter 파일을 연결한다. 거부된 줄이 없으면 파일은 만들어지지 않는다. */
+    public IngestStats attach(IngestStats stats, IngestTarget target) {
+        return attach(stats, target, null);
+    }
+
+    /** 다중 적재에서 sink 하나의 통계에 연결한다. 기록되는 줄에는 sink 이름이 붙어 그 sink 로만 재처리된다. */
+    public IngestStats attach(IngestStats stats, IngestTarget target, String sink) {
+        stats.deadLetters(new DeadLetterLog(directory.resolve(stats.getId() + EXTENSION),
+                stats.getId(), stats.getFileName(), target, sink, objectMapper));
+        return stats;
+    }
+
+    public List<DeadLetter> read(String jobId) throws IOException {
+        Path file = resolve(jobId);
+        List<DeadLetter> deadLetters = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    deadLetters.add(objectMapper.readValue(line, DeadLetter.class));
+                }
+            }
+        }
+        return deadLetters;
+    }
+
+    /** dead-letter 파일 목록 (작업 ID, 크기, 수정 시각), 최근 순 */
+    public List<Map<String, Object>> list() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        List<Map<String, Object>> result = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(f -> f.getFileName().toString().endsWith(EXTENSION)).toList()) {
+                String name = file.getFileName().toString();
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("jobId", name.substring(0, name.length() - EXTENSION.length()));
+                entry.put("size", Files.size(file));
+                entry.put("lastModified", Files.getLastModifiedTime(file).toInstant().toString());
+                result.add(entry);
+            }
+        }
+        result.sort(Comparator.comparing((Map<String, Object> entry) -> (String) entry.get("lastModified")).reversed());
+        return result;
+    }
+
+    /** @return 파일이 있어서 지웠으면 true */
+    public boolean delete(String jobId) throws IOException {
+        return Files.deleteIfExists(fileOf(jobId));
+    }
+
+    private Path resolve(String jobId) throws IOException {
+        Path file = fileOf(jobId);
+        if (!Files.exists(file)) {
+            throw new NoSuchFileException("dead-letter 파일이 없습니다: " + jobId);
+        }
+        return file;
+    }
+
+    private Path fileOf(String jobId) throws IOException {
+        if (!ID_PATTERN.matcher(jobId).matches()) {
+            throw new NoSuchFileException("잘못된 작업 ID: " + jobId);
+        }
+        return directory.resolve(jobId + EXTENSION);
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.demo.ingest;
+
+import com.example.demo.entity.JsonlData;
+import com.example.demo.entity.RawRssItem;
+import com.example.demo.repository.jpa.RawRssItemRepository;
+import com.example.demo.service.RawRssItemsChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * JSONL 적재 시 청크 단위로 DB 에 기록하는 writer.
+ * 청크마다 하나의 트랜잭션으로 커밋한다.
+ * 청크 저장이 실패하면 해당 청크만 한 건씩 다시 저장하여 문제 행을 분리한다.
+ * 한 건씩 저장해도 DB 가 거부한 행은 원본 줄과 함께 dead-letter 파일에 남겨 다시 처리할 수 있게 한다.
+ */
+@Component
+public class IngestBatchWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(IngestBatchWriter.class);
+
+    private static final String INSERT_JSONL_DATA_SQL =
+            "INSERT INTO jsonl_data (guid, source, title, link, pub_date, description, author, category, " +
+            "tags, group_name, scraped_at, content_hash, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_JSONL_DATA_SQL =
+            "UPDATE jsonl_data SET source = ?, title = ?, link = ?, pub_date = ?, description = ?, author = ?, " +
+            "category = ?, tags = ?, group_name = ?, scraped_at = ?, content_hash = ?, updated_at = ? WHERE guid = ?";
+
+    private final RawRssItemRepository rawRssItemRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public IngestBatchWriter(RawRssItemRepository rawRssItemRepository,
+                             ApplicationEventPublisher eventPublisher,
+                             JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${ingest.batch-size:1000}") int batchSize) {
+        this.rawRssItemRepository = rawRssItemRepository;
+        this.eventPublisher = eventPublisher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * RawRssItem 청크 저장. 청크의 guid 로 저장된 content_hash 를 한 번에 조회하여
+     * 내용이 같은 행은 건너뛰고, 새 행은 다중 행 INSERT 로, 바뀐 행은 값이 다른 컬럼만 UPDATE 한다.
+     */
+    public void writeRawRssItems(List<RawRssItem> chunk, IngestStats stats) {
+        if (chunk.isEmpty()) return;
+
+        // 같은 청크 안의 중복 guid 는 마지막 줄이 이기도록 정리 (기존 save() 덮어쓰기와 동일)
+        Map<String, RawRssItem> byGuid = new LinkedHashMap<>();
+        for (RawRssItem item : chunk) {
+            byGuid.put(item.getGuid(), item);
+        }
+
+        Map<String, Long> stored = rawRssItemRepository.findContentHashes(byGuid.keySet());
+        List<RawRssItem> inserts = new ArrayList<>();
+        List<RawRssItem> changed = new ArrayList<>();
+        for (RawRssItem item : byGuid.values()) {
+            item.setContentHash(item.computeContentHash());
+            if (!stored.containsKey(item.getGuid())) {
+                inserts.add(item);
+            } else if (!item.getContentHash().equals(stored.get(item.getGuid()))) {
+                changed.add(item);
+            } else {
+                stats.unchanged(1);
+            }
+        }
+        if (inserts.isEmpty() && changed.isEmpty()) return;
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                rawRssItemRepository.insertAll(inserts);
+                rawRssItemRepository.updateChanged(changed);
+            });
+            stats.rowsWritten(inserts.size() + changed.size());
+            stats.updated(changed.size());
+        } catch (RuntimeException e) {
+            log.warn("RawRssItem 청크 저장 실패, 한 건씩 재시도합니다: {}", e.getMessage());
+            for (RawRssItem item : inserts) {
+                try {
+                    rawRssItemRepository.insertAll(List.of(item));
+                    stats.rowsWritten(1);
+                } catch (DuplicateKeyException duplicate) {
+                    // 다른 적재 작업이 먼저 같은 guid 를 넣은 경우
+                    stats.duplicates(1);
+                } catch (RuntimeException rowError) {
+                    stats.rejected(item, rowError);
+                    log.warn("RawRssItem 저장 실패 guid={}: {}", item.getGuid(), rowError.getMessage());
+                }
+            }
+            for (RawRssItem item : changed) {
+                try {
+                    rawRssItemRepository.updateChanged(List.of(item));
+                    stats.rowsWritten(1);
+                    stats.updated(1);
+                } catch (RuntimeException rowError) {
+                    stats.rejected(item, rowError);
+                    log.warn("RawRssItem 갱신 실패 guid={}: {}", item.getGuid(), rowError.getMessage());
+                }
+            }
+        }
+        eventPublisher.publishEvent(new RawRssItemsChangedEvent(inserts.size() + changed.size()));
+    }
+
+    /**
+     * JsonlData 청크 저장. id 가 IDENTITY 전략이라 Hibernate 가 INSERT 배치를 끄기 때문에
+     * JDBC batchUpdate 로 직접 INSERT 한다.
+     */
+    public void writeJsonlData(List<JsonlData> chunk, IngestStats stats) {
+        if (chunk.isEmpty()) return;
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> insertJsonlData(chunk));
+            stats.rowsWritten(chunk.size());
+        } catch (RuntimeException e) {
+            log.warn("JsonlData 청크 저장 실패, 한 건씩 재시도합니다: {}", e.getMessage());
+            for (JsonlData data : chunk) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insertJsonlData(List.of(data)));
+                    stats.rowsWritten(1);
+                } catch (DuplicateKeyException duplicate) {
+                    // 다른 적재 작업이 먼저 같은 guid 를 넣은 경우 (guid 유니크 인덱스)
+                    stats.duplicates(1);
+                } catch (RuntimeException rowError) {
+                    stats.rejected(data, rowError);
+                    log.warn("JsonlData 저장 실패 guid={}: {}", data.getGuid(), rowError.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * 내용이 바뀐 JsonlData 행을 guid 로 찾아 갱신한다 (created_at 은 유지).
+     */
+    public void updateJsonlData(List<JsonlData> changed, IngestStats stats) {
+        if (changed.isEmpty()) return;
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> updateRows(changed));
+            stats.rowsWritten(changed.size());
+            stats.updated(changed.size());
+        } catch (RuntimeException e) {
+            log.warn("JsonlData 청크 갱신 실패, 한 건씩 재시도합니다: {}", e.getMessage());
+            for (JsonlData data : changed) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> updateRows(List.of(data)));
+                    stats.rowsWritten(1);
+                    stats.updated(1);
+                } catch (RuntimeException rowError) {
+                    stats.rejected(data, rowError);
+                    log.warn("JsonlData 갱신 실패 guid={}: {}", data.getGuid(), rowError.getMessage());
+                }
+            }
+        }
+    }
+
+    private void insertJsonlData(List<JsonlData> rows) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_JSONL_DATA_SQL, rows, batchSize, (ps, data) -> {
+            ps.setString(1, data.getGuid());
+            ps.setString(2, data.getSource());
+            ps.setString(3, data.getTitle());
+            ps.setString(4, data.getLink());
+            ps.setString(5, data.getPubDate());
+            ps.setString(6, data.getDescription());
+            ps.setString(7, data.getAuthor());
+            ps.setString(8, data.getCategory());
+            ps.setString(9, data.getTags());
+            ps.setString(10, data.getGroupName());
+            ps.setString(11, data.getScrapedAt());
+            ps.setLong(12, contentHash(data));
+            ps.setTimestamp(13, now);
+            ps.setTimestamp(14, now);
+        });
+    }
+
+    private void updateRows(List<JsonlData> rows) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(UPDATE_JSONL_DATA_SQL, rows, batchSize, (ps, data) -> {
+            ps.setString(1, data.getSource());
+            ps.setString(2, data.getTitle());
+            ps.setString(3, data.getLink());
+            ps.setString(4, data.getPubDate());
+            ps.setString(5, data.getDescription());
+            ps.setString(6, data.getAuthor());
+            ps.setString(7, data.getCategory());
+            ps.setString(8, data.getTags());
+            ps.setString(9, data.getGroupName());
+            ps.setString(10, data.getScrapedAt());
+            ps.setLong(11, contentHash(data));
+            ps.setTimestamp(12, now);
+            ps.setString(13, data.getGuid());
+        });
+    }
+
+    private static long contentHash(JsonlData data) {
+        if (data.getContentHash() == null) {
+            data.setContentHash(data.computeContentHash());
+        }
+        return data.getContentHash();
+    }
+}
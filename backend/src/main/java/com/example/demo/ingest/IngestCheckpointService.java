@@ -0,0 +1,216 @@
+package com.example.demo.ingest;
+
+import com.example.demo.entity.IngestCheckpoint;
+import com.example.demo.repository.jpa.IngestCheckpointRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.zip.CRC32;
+
+/**
+ * 파일별 적재 위치(체크포인트) 관리.
+ * 이어서 적재할 때는 마지막으로 커밋된 바이트 오프셋으로 바로 이동하여 새로 추가된 부분만 읽는다.
+ * 체크포인트는 청크가 커밋된 뒤에 갱신되므로, 중간에 프로세스가 죽으면 마지막 청크가 한 번 더 적재될 수 있다
+ * (guid 중복 제거/덮어쓰기로 결과는 같다).
+ * 같은 파일/대상의 적재는 한 번에 하나만 실행된다. 나중에 연 세션은 앞 세션이 닫힐 때까지 기다렸다가
+ * 그 세션이 남긴 체크포인트부터 읽는다.
+ */
+@Service
+public class IngestCheckpointService {
+
+    private static final Logger log = LoggerFactory.getLogger(IngestCheckpointService.class);
+
+    private static final int TAIL_BYTES = 4096;
+
+    private final IngestCheckpointRepository checkpointRepository;
+    private final Map<String, Semaphore> locks = new ConcurrentHashMap<>();
+
+    public IngestCheckpointService(IngestCheckpointRepository checkpointRepository) {
+        this.checkpointRepository = checkpointRepository;
+    }
+
+    /**
+     * 체크포인트 위치부터 읽는 세션을 연다. 세션을 닫아야 같은 파일의 다음 적재가 시작된다.
+     *
+     * @param fromStart true 면 체크포인트를 무시하고 처음부터 읽는다
+     */
+    public Session open(String fileName, IngestTarget target, Path path, boolean fromStart) throws IOException {
+        Semaphore lock = locks.computeIfAbsent(fileName + "\n" + target.name(), key -> new Semaphore(1));
+        try {
+            lock.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("적재 대기 중 중단되었습니다: " + fileName, e);
+        }
+        try {
+            return open(fileName, target, path, fromStart, lock);
+        } catch (IOException | RuntimeException e) {
+            lock.release();
+            throw e;
+        }
+    }
+
+    private Session open(String fileName, IngestTarget target, Path path, boolean fromStart,
+                         Semaphore lock) throws IOException {
+        BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+        String fileKey = fileKey(attrs);
+
+        IngestCheckpoint checkpoint = checkpointRepository.findByFileNameAndTarget(fileName, target.name())
+                .orElseGet(() -> new IngestCheckpoint(fileName, target.name()));
+
+        long offset = checkpoint.getByteOffset();
+        long lineNumber = checkpoint.getLineNumber();
+        if (fromStart) {
+            offset = 0;
+            lineNumber = 0;
+        } else if (checkpoint.getFileKey() != null && !checkpoint.getFileKey().equals(fileKey)) {
+            log.info("{} 파일이 교체되어 처음부터 적재합니다 ({} -> {})", fileName, checkpoint.getFileKey(), fileKey);
+            offset = 0;
+            lineNumber = 0;
+        } else if (offset > 0 && !appendedSince(checkpoint, path, attrs)) {
+            log.info("{} 파일이 잘리거나 다시 쓰여 처음부터 적재합니다 (size {} -> {}, checkpoint={})",
+                    fileName, checkpoint.getFileSize(), attrs.size(), offset);
+            offset = 0;
+            lineNumber = 0;
+        }
+
+        checkpoint.setFileKey(fileKey);
+        checkpoint.setFileSize(attrs.size());
+        checkpoint.setLastModified(attrs.lastModifiedTime().toMillis());
+
+        // 압축 파일은 압축을 푼 기준 오프셋까지 읽어서 건너뛴다
+        JsonlCompression compression = JsonlCompression.of(path);
+        InputStream in;
+        try {
+            in = compression.open(path, offset);
+        } catch (EOFException e) {
+            log.info("{} 파일이 잘려서 처음부터 적재합니다 (size={}, checkpoint={})", fileName, attrs.size(), offset);
+            offset = 0;
+            lineNumber = 0;
+            in = compression.open(path);
+        }
+        return new Session(checkpoint, new JsonlLineReader(in, offset, lineNumber), offset, path, compression, lock);
+    }
+
+    /**
+     * 체크포인트 이후 파일이 뒤에 덧붙이기만 되었는지 확인한다.
+     * 크기가 줄었으면 잘린 것이고, 크기나 수정 시각이 바뀌었는데 체크포인트 앞 구간의 체크섬이 다르면 다시 쓴 것이다.
+     * 압축 파일은 덧붙이기를 확인할 수 없으므로 크기나 수정 시각이 바뀌면 다시 쓴 것으로 본다.
+     */
+    private boolean appendedSince(IngestCheckpoint checkpoint, Path path, BasicFileAttributes attrs) throws IOException {
+        Long size = checkpoint.getFileSize();
+        Long modified = checkpoint.getLastModified();
+        if (size == null || modified == null) {
+            return true;
+        }
+        if (attrs.size() < size) {
+            return false;
+        }
+        if (attrs.size() == size && attrs.lastModifiedTime().toMillis() == modified) {
+            return true;
+        }
+        if (JsonlCompression.of(path) != JsonlCompression.NONE) {
+            return false;
+        }
+        Long expected = checkpoint.getTailChecksum();
+        return expected == null || expected == tailChecksum(path, checkpoint.getByteOffset());
+    }
+
+    // 압축하지 않은 파일에서 offset 바로 앞 최대 4KB 의 CRC32
+    private static long tailChecksum(Path path, long offset) throws IOException {
+        long start = Math.max(0, offset - TAIL_BYTES);
+        ByteBuffer buffer = ByteBuffer.allocate((int) (offset - start));
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            while (buffer.hasRemaining() && channel.read(buffer, start + buffer.position()) > 0) {
+                // 끝까지 읽는다
+            }
+        }
+        buffer.flip();
+        CRC32 crc = new CRC32();
+        crc.update(buffer);
+        return crc.getValue();
+    }
+
+    // Windows 등 fileKey 를 제공하지 않는 파일 시스템에서는 생성 시각으로 파일을 구분한다
+    private String fileKey(BasicFileAttributes attrs) {
+        Object key = attrs.fileKey();
+        return key != null ? key.toString() : "ctime:" + attrs.creationTime().toMillis();
+    }
+
+    public void reset(String fileName, IngestTarget target) {
+        checkpointRepository.findByFileNameAndTarget(fileName, target.name())
+                .ifPresent(checkpointRepository::delete);
+    }
+
+    public class Session implements IngestPipeline.CommitListener, AutoCloseable {
+
+        private final IngestCheckpoint checkpoint;
+        private final JsonlLineReader reader;
+        private final long startOffset;
+        private final Path path;
+        private final JsonlCompression compression;
+        private final Semaphore lock;
+        private boolean closed;
+
+        private Session(IngestCheckpoint checkpoint, JsonlLineReader reader, long startOffset,
+                        Path path, JsonlCompression compression, Semaphore lock) {
+            this.checkpoint = checkpoint;
+            this.reader = reader;
+            this.startOffset = startOffset;
+            this.path = path;
+            this.compression = compression;
+            this.lock = lock;
+        }
+
+        public JsonlLineReader reader() {
+            return reader;
+        }
+
+        public long startOffset() {
+            return startOffset;
+        }
+
+        @Override
+        public synchronized void committed(long byteOffset, long lineNumber) {
+            if (compression == JsonlCompression.NONE) {
+                try {
+                    checkpoint.setTailChecksum(tailChecksum(path, byteOffset));
+                } catch (IOException e) {
+                    log.warn("{} 체크포인트 체크섬 계산 실패: {}", checkpoint.getFileName(), e.getMessage());
+                    checkpoint.setTailChecksum(null);
+                }
+            }
+            checkpoint.setByteOffset(byteOffset);
+            checkpoint.setLineNumber(lineNumber);
+            checkpoint.setUpdatedAt(LocalDateTime.now());
+            IngestCheckpoint saved = checkpointRepository.save(checkpoint);
+            checkpoint.setId(saved.getId());
+        }
+
+        /** reader 를 닫고 같은 파일의 다음 적재가 시작될 수 있게 한다. */
+        @Override
+        public synchronized void close() throws IOException {
+            if (closed) return;
+            closed = true;
+            try {
+                reader.close();
+            } finally {
+                lock.release();
+            }
+        }
+    }
+}
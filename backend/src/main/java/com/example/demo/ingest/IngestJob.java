@@ -0,0 +1,113 @@
+package com.example.demo.ingest;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.Future;
+
+/**
+ * 비동기 JSONL 적재 작업 한 건의 상태.
+ */
+public class IngestJob {
+
+    public enum State { QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED }
+
+    private final String id;
+    private final String fileName;
+    private final IngestTarget target;
+    // 압축을 푼 기준 전체 크기. 알 수 없으면 -1 (압축 파일)
+    private final long totalBytes;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+
+    private volatile State state = State.QUEUED;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile IngestStats stats;
+    private volatile String message;
+    private volatile Future<?> future;
+
+    private final boolean fromStart;
+
+    public IngestJob(String id, String fileName, IngestTarget target, long totalBytes, boolean fromStart) {
+        this.id = id;
+        this.fileName = fileName;
+        this.target = target;
+        this.totalBytes = totalBytes;
+        this.fromStart = fromStart;
+    }
+
+    void attach(Future<?> future) {
+        this.future = future;
+    }
+
+    synchronized IngestStats start(String mode) {
+        if (state != State.QUEUED) {
+            return null;
+        }
+        stats = new IngestStats(id, fileName, mode);
+        state = State.RUNNING;
+        startedAt = LocalDateTime.now();
+        return stats;
+    }
+
+    synchronized void finish(State finalState, String message) {
+        if (stats != null) {
+            stats.finish();
+            if (finalState == State.COMPLETED && stats.isCancelled()) {
+                finalState = State.CANCELLED;
+            }
+        }
+        this.state = finalState;
+        this.message = message;
+        this.finishedAt = LocalDateTime.now();
+    }
+
+    /**
+     * 대기 중이면 바로 취소하고, 실행 중이면 다음 청크 경계에서 멈추도록 요청한다.
+     */
+    synchronized boolean cancel() {
+        if (state == State.QUEUED) {
+            if (future != null) {
+                future.cancel(false);
+            }
+            finish(State.CANCELLED, "실행 전에 취소되었습니다.");
+            return true;
+        }
+        if (state == State.RUNNING && stats != null) {
+            stats.cancel();
+            return true;
+        }
+        return false;
+    }
+
+    public boolean isFinished() {
+        return state != State.QUEUED && state != State.RUNNING;
+    }
+
+    public String getId() { return id; }
+    public String getFileName() { return fileName; }
+    public IngestTarget getTarget() { return target; }
+    public boolean isFromStart() { return fromStart; }
+    public State getState() { return state; }
+    public long getTotalBytes() { return totalBytes; }
+    public LocalDateTime getSubmittedAt() { return submittedAt; }
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public IngestStats getStats() { return stats; }
+    public String getMessage() { return message; }
+
+    public double getProgress() {
+        IngestStats current = stats;
+        if (isFinished() && state == State.COMPLETED) return 100.0;
+        if (current == null || totalBytes <= 0) return 0.0;
+        return Math.min(100.0, current.getBytesRead() * 100.0 / totalBytes);
+    }
+
+    /** 지금까지의 처리 속도로 계산한 남은 시간(초). 계산할 수 없으면 null */
+    public Long getEtaSeconds() {
+        IngestStats current = stats;
+        if (current == null || state != State.RUNNING || totalBytes <= 0) return null;
+        long processed = current.getBytesRead() - current.getStartOffset();
+        if (processed <= 0) return null;
+        long remaining = Math.max(0, totalBytes - current.getBytesRead());
+        return current.getElapsedMillis() * remaining / processed / 1000;
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.demo.ingest;
+
+import com.example.demo.service.FileService;
+import com.example.demo.service.JsonlDataService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 비동기 JSONL 적재 작업 등록/실행/조회/취소.
+ * 작업은 Tomcat 요청 스레드가 아닌 전용 스레드 풀에서 실행된다.
+ */
+@Service
+public class IngestJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(IngestJobService.class);
+
+    private final FileService fileService;
+    private final JsonlDataService jsonlDataService;
+    private final MultiSinkIngestService multiSinkIngestService;
+    private final ThreadPoolExecutor executor;
+    private final int retainedJobs;
+    private final Map<String, IngestJob> jobs = new ConcurrentHashMap<>();
+
+    public IngestJobService(FileService fileService,
+                            JsonlDataService jsonlDataService,
+                            MultiSinkIngestService multiSinkIngestService,
+                            @Value("${ingest.jobs.concurrency:2}") int concurrency,
+                            @Value("${ingest.jobs.queue-capacity:50}") int queueCapacity,
+                            @Value("${ingest.jobs.retained:100}") int retainedJobs) {
+        this.fileService = fileService;
+        this.jsonlDataService = jsonlDataService;
+        this.multiSinkIngestService = multiSinkIngestService;
+        this.retainedJobs = Math.max(1, retainedJobs);
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(Math.max(1, concurrency), Math.max(1, concurrency),
+                0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "ingest-job-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * 적재 작업을 등록하고 바로 반환한다.
+     *
+     * @param fromStart true 면 체크포인트를 무시하고 파일 처음부터 적재한다
+     * @throws IOException                파일이 없을 때
+     * @throws RejectedExecutionException 대기열이 가득 찼을 때
+     */
+    public IngestJob submit(String fileName, IngestTarget target, boolean fromStart) throws IOException {
+        Path filePath = fileService.resolveDataFile(fileName);
+        long totalBytes = JsonlCompression.of(filePath).estimateUncompressedSize(filePath);
+        IngestJob job = new IngestJob(UUID.randomUUID().toString(), fileName, target, totalBytes, fromStart);
+
+        evictFinishedJobs();
+        jobs.put(job.getId(), job);
+        try {
+            job.attach(executor.submit(() -> execute(job)));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            throw e;
+        }
+        return job;
+    }
+
+    private void execute(IngestJob job) {
+        IngestStats stats = job.start(switch (job.getTarget()) {
+            case RAW_RSS_ITEM -> "streaming";
+            case JSONL_DATA -> "batch";
+            case ALL -> "multi-sink";
+        });
+        if (stats == null) {
+            return; // 실행 전에 취소됨
+        }
+        try {
+            switch (job.getTarget()) {
+                case RAW_RSS_ITEM -> fileService.streamJsonlToRawRssItem(job.getFileName(), stats, job.isFromStart());
+                case JSONL_DATA -> jsonlDataService.saveJsonlData(
+                        fileService.resolveDataFile(job.getFileName()), stats, job.isFromStart());
+                case ALL -> multiSinkIngestService.ingest(job.getFileName(), stats, job.isFromStart());
+            }
+            job.finish(IngestJob.State.COMPLETED, stats.getRowsWritten() + "개의 항목이 저장되었습니다.");
+        } catch (Exception e) {
+            log.warn("적재 작업 {} 실패: {}", job.getId(), e.getMessage());
+            job.finish(IngestJob.State.FAILED, e.getMessage());
+        }
+    }
+
+    /** 같은 파일/대상으로 대기 중이거나 실행 중인 작업이 있는지 */
+    public boolean isActive(String fileName, IngestTarget target) {
+        return jobs.values().stream()
+                .anyMatch(job -> !job.isFinished() && job.getTarget() == target && job.getFileName().equals(fileName));
+    }
+
+    public Optional<IngestJob> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    public List<IngestJob> getJobs() {
+        List<IngestJob> result = new ArrayList<>(jobs.values());
+        result.sort(Comparator.comparing(IngestJob::getSubmittedAt).reversed());
+        return result;
+    }
+
+    public Optional<IngestJob> cancel(String jobId) {
+        IngestJob job = jobs.get(jobId);
+        if (job != null) {
+            job.cancel();
+        }
+        return Optional.ofNullable(job);
+    }
+
+    // 끝난 작업은 최근 retainedJobs 개만 남긴다
+    private void evictFinishedJobs() {
+        List<IngestJob> finished = jobs.values().stream()
+                .filter(IngestJob::isFinished)
+                .sorted(Comparator.comparing(IngestJob::getSubmittedAt))
+                .toList();
+        for (int i = 0; i < finished.size() - retainedJobs + 1; i++) {
+            jobs.remove(finished.get(i).getId());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobs.values().forEach(IngestJob::cancel);
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,351 @@
+package com.example.demo.ingest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * reader → parser → writer 3단계 JSONL 적재 파이프라인.
+ * 단계 사이는 크기가 제한된 큐로 연결되어, 뒤 단계가 느리면 앞 단계가 자연스럽게 멈춘다 (backpressure).
+ * DB 쓰기는 모든 파이프라인이 공유하는 세마포어로 동시 실행 수를 제한하여
+ * 여러 파일을 동시에 적재해도 커넥션 풀을 다 쓰지 않도록 한다.
+ * {@link IngestStats#cancel()} 이 호출되면 이미 쓰고 있는 청크까지만 저장하고 멈춘다.
+ * 파싱한 청크는 파일 순서대로 writer 큐에 넣는다. writer 가 하나(기본값)면 청크가 파일 순서대로 저장되어
+ * 같은 guid 가 파일에 여러 번 나와도 마지막 줄이 이긴다. writer 가 여럿이면 청크끼리 저장 순서가 바뀔 수 있으므로
+ * 파일 안에서 guid 가 반복되지 않을 때만 늘린다.
+ * {@link CommitListener} 에는 앞에서부터 빠짐없이 저장이 끝난 위치(watermark)만 전달한다.
+ */
+@Component
+public class IngestPipeline implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(IngestPipeline.class);
+    private static final long POLL_MILLIS = 100;
+
+    @FunctionalInterface
+    public interface LineParser<T> {
+        /** 한 줄을 파싱한다. 저장할 필요가 없는 줄이면 null 을 반환한다. */
+        T parse(String line) throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface ChunkWriter<T> {
+        void write(List<T> chunk, IngestStats stats);
+    }
+
+    @FunctionalInterface
+    public interface CommitListener {
+        /** byteOffset 이전의 모든 줄(lineNumber 번째 줄까지)이 저장되었다. */
+        void committed(long byteOffset, long lineNumber);
+    }
+
+    private record SourceLine(long lineNumber, long offset, String text, boolean terminated) { }
+
+    /** 줄 묶음과, 이 묶음을 모두 처리했을 때 다음에 읽을 위치 */
+    private static final class Batch<E> {
+        final long sequence;
+        final List<E> items;
+        final long startLine;
+        long endOffset;
+        long endLine;
+
+        Batch(long sequence, List<E> items, long startLine, long endOffset, long endLine) {
+            this.sequence = sequence;
+            this.items = items;
+            this.startLine = startLine;
+            this.endOffset = endOffset;
+            this.endLine = endLine;
+        }
+    }
+
+    private final ExecutorService executor;
+    private final Semaphore writePermits;
+    private final int parserThreads;
+    private final int writerThreads;
+    private final int queueCapacity;
+    private final int batchSize;
+
+    public IngestPipeline(@Value("${ingest.pipeline.parser-threads:2}") int parserThreads,
+                          @Value("${ingest.pipeline.writer-threads:1}") int writerThreads,
+                          @Value("${ingest.pipeline.queue-capacity:4}") int queueCapacity,
+                          @Value("${ingest.pipeline.max-concurrent-writes:4}") int maxConcurrentWrites,
+                          @Value("${ingest.batch-size:1000}") int batchSize) {
+        this.parserThreads = Math.max(1, parserThreads);
+        this.writerThreads = Math.max(1, writerThreads);
+        this.queueCapacity = Math.max(1, queueCapacity);
+        this.batchSize = Math.max(1, batchSize);
+        this.writePermits = new Semaphore(Math.max(1, maxConcurrentWrites), true);
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "ingest-pipeline-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * reader 의 모든 줄을 파싱하여 writer 로 저장한다. 호출한 스레드가 reader 단계를 맡는다.
+     */
+    public <T> IngestStats run(JsonlLineReader reader, IngestStats stats,
+                               LineParser<T> parser, ChunkWriter<T> writer) throws IOException {
+        return run(reader, stats, parser, writer, null);
+    }
+
+    /**
+     * @param listener 저장이 끝난 위치를 받을 리스너 (체크포인트). null 가능
+     */
+    public <T> IngestStats run(JsonlLineReader reader, IngestStats stats, LineParser<T> parser,
+                               ChunkWriter<T> writer, CommitListener listener) throws IOException {
+        try (reader) {
+            new Run<>(reader, stats, parser, writer, listener).execute();
+        } finally {
+            stats.finish();
+        }
+        return stats;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private final class Run<T> {
+
+        private final Batch<SourceLine> endOfLines = new Batch<>(-1, List.of(), 0, 0, 0);
+        private final Batch<T> endOfChunks = new Batch<>(-1, List.of(), 0, 0, 0);
+
+        private final JsonlLineReader reader;
+        private final IngestStats stats;
+        private final LineParser<T> parser;
+        private final ChunkWriter<T> writer;
+        private final CommitListener listener;
+
+        private final BlockingQueue<Batch<SourceLine>> lineQueue = new ArrayBlockingQueue<>(queueCapacity);
+        private final BlockingQueue<Batch<T>> chunkQueue = new ArrayBlockingQueue<>(queueCapacity);
+        private final AtomicInteger runningParsers = new AtomicInteger(parserThreads);
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        // 저장이 끝났지만 앞 번호 청크가 아직 안 끝나 watermark 에 반영하지 못한 청크들
+        private final Map<Long, Batch<T>> written = new HashMap<>();
+        private long nextSequence;
+
+        // 다음에 writer 큐에 넣을 청크 번호 (파서가 파일 순서대로 넣도록)
+        private final Object queueOrder = new Object();
+        private long nextQueued;
+
+        Run(JsonlLineReader reader, IngestStats stats, LineParser<T> parser,
+            ChunkWriter<T> writer, CommitListener listener) {
+            this.reader = reader;
+            this.stats = stats;
+            this.parser = parser;
+            this.writer = writer;
+            this.listener = listener;
+        }
+
+        void execute() throws IOException {
+            List<Future<?>> stages = new ArrayList<>();
+            for (int i = 0; i < parserThreads; i++) {
+                stages.add(executor.submit(() -> guard(this::parseStage)));
+            }
+            for (int i = 0; i < writerThreads; i++) {
+                stages.add(executor.submit(() -> guard(this::writeStage)));
+            }
+
+            try {
+                readStage();
+            } catch (IOException | RuntimeException e) {
+                failure.compareAndSet(null, e);
+            }
+
+            for (Future<?> stage : stages) {
+                try {
+                    stage.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    failure.compareAndSet(null, e);
+                    stages.forEach(s -> s.cancel(true));
+                } catch (ExecutionException e) {
+                    failure.compareAndSet(null, e.getCause());
+                }
+            }
+
+            Throwable error = failure.get();
+            if (error instanceof IOException io) {
+                throw io;
+            }
+            if (error != null) {
+                throw new IllegalStateException("JSONL 적재 파이프라인 실패: " + error.getMessage(), error);
+            }
+        }
+
+        private void readStage() throws IOException {
+            long sequence = 0;
+            long startLine = reader.lineNumber() + 1;
+            List<SourceLine> lines = new ArrayList<>(batchSize);
+            while (failure.get() == null && !stats.isCancelled() && reader.next()) {
+                stats.lineRead();
+                String line = reader.line();
+                if (!line.isBlank()) {
+                    lines.add(new SourceLine(reader.lineNumber(), reader.lineOffset(), line, reader.terminated()));
+                }
+                if (lines.size() >= batchSize) {
+                    stats.bytesRead(reader.position());
+                    put(lineQueue, new Batch<>(sequence++, lines, startLine, reader.position(), reader.lineNumber()));
+                    lines = new ArrayList<>(batchSize);
+                    startLine = reader.lineNumber() + 1;
+                }
+            }
+            // 빈 줄만 남은 경우에도 위치는 전진해야 하므로 마지막 묶음은 항상 보낸다
+            if (failure.get() == null && !stats.isCancelled()) {
+                put(lineQueue, new Batch<>(sequence, lines, startLine, reader.position(), reader.lineNumber()));
+            }
+            stats.bytesRead(reader.position());
+            for (int i = 0; i < parserThreads; i++) {
+                put(lineQueue, endOfLines);
+            }
+        }
+
+        private void parseStage() {
+            Batch<SourceLine> batch;
+            while ((batch = take(lineQueue)) != null && batch != endOfLines) {
+                if (stats.isCancelled()) continue;
+                Batch<T> chunk = new Batch<>(batch.sequence, new ArrayList<>(batch.items.size()),
+                        batch.startLine, batch.endOffset, batch.endLine);
+                for (SourceLine line : batch.items) {
+                    try {
+                        T item = parser.parse(line.text());
+                        if (item != null) {
+                            stats.source(item, line.lineNumber(), line.offset(), line.text());
+                            chunk.items.add(item);
+                        }
+                    } catch (Exception e) {
+                        if (!line.terminated() && listener != null) {
+                            // 줄바꿈 없이 끝난 마지막 줄은 아직 쓰는 중일 수 있으므로 다음 적재 때 다시 읽는다
+                            chunk.endOffset = line.offset();
+                            chunk.endLine = line.lineNumber() - 1;
+                            log.debug("JSONL {}번째 라인이 완성되지 않아 다음 적재로 미룹니다", line.lineNumber());
+                            continue;
+                        }
+                        stats.rejected(line.lineNumber(), line.offset(), line.text(), e);
+                        log.debug("JSONL {}번째 라인 파싱 실패: {}", line.lineNumber(), e.getMessage());
+                    }
+                }
+                putInOrder(chunk);
+            }
+            if (runningParsers.decrementAndGet() == 0) {
+                for (int i = 0; i < writerThreads; i++) {
+                    put(chunkQueue, endOfChunks);
+                }
+            }
+        }
+
+        private void writeStage() {
+            Batch<T> chunk;
+            while ((chunk = take(chunkQueue)) != null && chunk != endOfChunks) {
+                if (stats.isCancelled()) {
+                    chunk.items.forEach(stats::released);
+                    continue;
+                }
+                if (!chunk.items.isEmpty()) {
+                    try {
+                        writePermits.acquire();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException("interrupted", e);
+                    }
+                    try {
+                        writer.write(chunk.items, stats);
+                    } catch (RuntimeException e) {
+                        throw new IllegalStateException("JSONL " + chunk.startLine + "~" + chunk.endLine
+                                + "번째 줄 청크 저장 실패: " + e.getMessage(), e);
+                    } finally {
+                        writePermits.release();
+                        chunk.items.forEach(stats::released);
+                    }
+                }
+                markWritten(chunk);
+            }
+        }
+
+        // 앞 번호 청크가 모두 큐에 들어간 뒤에 넣는다. 취소되었거나 실패했으면 넣지 않는다
+        private void putInOrder(Batch<T> chunk) {
+            synchronized (queueOrder) {
+                try {
+                    while (nextQueued != chunk.sequence) {
+                        if (failure.get() != null || stats.isCancelled()) return;
+                        queueOrder.wait(POLL_MILLIS);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    failure.compareAndSet(null, e);
+                    return;
+                }
+                put(chunkQueue, chunk);
+                nextQueued++;
+                queueOrder.notifyAll();
+            }
+        }
+
+        // 앞에서부터 연속으로 저장이 끝난 청크까지 watermark 를 옮긴다
+        private void markWritten(Batch<T> chunk) {
+            if (listener == null) return;
+            Batch<T> committed = null;
+            synchronized (written) {
+                written.put(chunk.sequence, chunk);
+                Batch<T> next;
+                while ((next = written.remove(nextSequence)) != null) {
+                    committed = next;
+                    nextSequence++;
+                }
+                if (committed != null) {
+                    listener.committed(committed.endOffset, committed.endLine);
+                }
+            }
+        }
+
+        private void guard(Runnable stage) {
+            try {
+                stage.run();
+            } catch (RuntimeException e) {
+                failure.compareAndSet(null, e);
+                throw e;
+            }
+        }
+
+        // 실패가 기록되면 대기를 멈추고 바로 돌아간다
+        private <E> void put(BlockingQueue<E> queue, E item) {
+            try {
+                while (failure.get() == null) {
+                    if (queue.offer(item, POLL_MILLIS, TimeUnit.MILLISECONDS)) return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure.compareAndSet(null, e);
+            }
+        }
+
+        private <E> E take(BlockingQueue<E> queue) {
+            try {
+                while (failure.get() == null) {
+                    E item = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                    if (item != null) return item;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure.compareAndSet(null, e);
+            }
+            return null;
+        }
+    }
+}
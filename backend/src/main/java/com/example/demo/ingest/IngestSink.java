@@ -0,0 +1,22 @@
+package com.example.demo.ingest;
+
+import java.util.List;
+
+/**
+ * 한 번 파싱한 JSONL 레코드를 받아 저장하는 대상 (단일 패스 다중 적재).
+ * 구현체를 빈으로 등록하면 {@link MultiSinkIngestService} 가 자동으로 사용한다.
+ */
+public interface IngestSink {
+
+    /** 요청 파라미터와 통계에 쓰는 이름 (예: "raw-rss-item") */
+    String name();
+
+    /** 한 번에 저장할 최대 레코드 수 */
+    int batchSize();
+
+    /**
+     * 레코드 묶음을 저장한다. 행 단위 실패는 stats 에 기록하고,
+     * 저장소 자체를 쓸 수 없을 때만 예외를 던진다.
+     */
+    void write(List<RssJsonlRecord> records, IngestStats stats);
+}
@@ -0,0 +1,179 @@
+package com.example.demo.ingest;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * JSONL 적재 한 번의 진행 통계.
+ * 여러 스레드에서 동시에 갱신될 수 있도록 카운터는 AtomicLong 으로 관리한다.
+ */
+public class IngestStats {
+
+    private static final int MAX_ERROR_SAMPLES = 100;
+
+    private final String id;
+    private final String fileName;
+    private final String mode;
+    private final long startedNanos = System.nanoTime();
+    private volatile long finishedNanos;
+
+    private final AtomicLong linesRead = new AtomicLong();
+    private final AtomicLong rowsWritten = new AtomicLong();
+    private final AtomicLong duplicates = new AtomicLong();
+    private final AtomicLong unchanged = new AtomicLong();
+    private final AtomicLong updated = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong deadLettered = new AtomicLong();
+    private volatile DeadLetterLog deadLetters;
+    private volatile long startOffset;
+    private volatile long bytesRead;
+    private volatile boolean cancelled;
+    // 줄 번호 순으로 정렬된 앞쪽 오류 샘플 (스레드 처리 순서와 무관하게 파일 순서대로 보고)
+    private final ConcurrentSkipListMap<Long, String> errorSamples = new ConcurrentSkipListMap<>();
+    // 다중 sink 적재에서 sink 별 통계
+    private final ConcurrentSkipListMap<String, IngestStats> sinks = new ConcurrentSkipListMap<>();
+    // 저장 중인 레코드(객체 동일성 기준)의 원본 줄. DB 가 거부한 레코드를 원문과 함께 dead-letter 로 남기는 데 쓴다
+    private final Map<Object, SourceLine> sources;
+
+    /** 레코드를 만든 원본 줄 */
+    private record SourceLine(long lineNumber, long byteOffset, String text) { }
+
+    public IngestStats(String fileName, String mode) {
+        this(UUID.randomUUID().toString(), fileName, mode);
+    }
+
+    public IngestStats(String id, String fileName, String mode) {
+        this(id, fileName, mode, Collections.synchronizedMap(new IdentityHashMap<>()));
+    }
+
+    private IngestStats(String id, String fileName, String mode, Map<Object, SourceLine> sources) {
+        this.id = id;
+        this.fileName = fileName;
+        this.mode = mode;
+        this.sources = sources;
+    }
+
+    public void lineRead() { linesRead.incrementAndGet(); }
+    public void rowsWritten(long count) { rowsWritten.addAndGet(count); }
+    public void duplicates(long count) { duplicates.addAndGet(count); }
+    /** 이미 같은 내용으로 저장되어 있어 쓰지 않은 행 */
+    public void unchanged(long count) { unchanged.addAndGet(count); }
+    /** 이미 있던 행 중 내용이 바뀌어 다시 쓴 행 (rowsWritten 에도 포함) */
+    public void updated(long count) { updated.addAndGet(count); }
+    public void error() { errors.incrementAndGet(); }
+    public void errors(long count) { errors.addAndGet(count); }
+
+    public void bytesRead(long position) { bytesRead = position; }
+
+    /** 체크포인트에서 이어서 읽을 때 시작 위치 */
+    public void resumedFrom(long offset) {
+        startOffset = offset;
+        bytesRead = offset;
+    }
+
+    /** 진행 중인 적재를 다음 청크 경계에서 멈추도록 요청한다. */
+    public void cancel() { cancelled = true; }
+    public boolean isCancelled() { return cancelled; }
+
+    public void error(long lineNumber, String message) {
+        errors.incrementAndGet();
+        errorSamples.put(lineNumber, message);
+        if (errorSamples.size() > MAX_ERROR_SAMPLES) {
+            errorSamples.pollLastEntry();
+        }
+    }
+
+    /** 다중 sink 적재에서 sink 별 통계 (없으면 만든다) */
+    public IngestStats sink(String name) {
+        return sinks.computeIfAbsent(name, sinkName -> new IngestStats(id + "-" + sinkName, fileName, sinkName, sources));
+    }
+
+    /** 거부된 줄을 기록할 dead-letter 파일 */
+    public void deadLetters(DeadLetterLog deadLetters) { this.deadLetters = deadLetters; }
+
+    /**
+     * 적재하지 못한 줄을 오류로 집계하고, dead-letter 파일이 연결되어 있으면 원문과 위치를 기록한다.
+     */
+    public void rejected(long lineNumber, long byteOffset, String line, Throwable error) {
+        error(lineNumber, error.getClass().getSimpleName() + ": " + error.getMessage());
+        DeadLetterLog log = deadLetters;
+        if (log != null) {
+            log.append(lineNumber, byteOffset, line, error);
+            deadLettered.incrementAndGet();
+        }
+    }
+
+    /** 파싱한 레코드의 원본 줄을 기억한다. 레코드를 다 쓰고 나면 {@link #released(Object)} 로 놓아야 한다. */
+    public void source(Object record, long lineNumber, long byteOffset, String line) {
+        sources.put(record, new SourceLine(lineNumber, byteOffset, line));
+    }
+
+    public void released(Object record) {
+        sources.remove(record);
+    }
+
+    /**
+     * 저장하지 못한 레코드를 오류로 집계하고, 원본 줄을 알면 dead-letter 파일에 기록한다.
+     */
+    public void rejected(Object record, Throwable error) {
+        SourceLine source = sources.get(record);
+        if (source != null) {
+            rejected(source.lineNumber(), source.byteOffset(), source.text(), error);
+        } else {
+            errors.incrementAndGet();
+        }
+    }
+
+    public void finish() {
+        if (finishedNanos == 0) {
+            finishedNanos = System.nanoTime();
+        }
+        sinks.values().forEach(IngestStats::finish);
+        DeadLetterLog log = deadLetters;
+        if (log != null) {
+            log.close();
+        }
+    }
+
+    public String getId() { return id; }
+    public String getFileName() { return fileName; }
+    public String getMode() { return mode; }
+    public long getLinesRead() { return linesRead.get(); }
+    public long getRowsWritten() { return rowsWritten.get(); }
+    public long getDuplicates() { return duplicates.get(); }
+    public long getUnchanged() { return unchanged.get(); }
+    public long getUpdated() { return updated.get(); }
+    public long getErrors() { return errors.get(); }
+    public long getDeadLettered() { return deadLettered.get(); }
+    public long getStartOffset() { return startOffset; }
+    public long getBytesRead() { return bytesRead; }
+    public Map<String, IngestStats> getSinks() { return sinks; }
+
+    public List<String> getErrorSamples() {
+        return errorSamples.entrySet().stream()
+                .map(entry -> "line " + entry.getKey() + ": " + entry.getValue())
+                .toList();
+    }
+
+    public long getElapsedMillis() {
+        long end = finishedNanos != 0 ? finishedNanos : System.nanoTime();
+        return (end - startedNanos) / 1_000_000;
+    }
+
+    public double getRowsPerSecond() {
+        long elapsed = getElapsedMillis();
+        return elapsed > 0 ? getRowsWritten() * 1000.0 / elapsed : getRowsWritten();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("[%s] %s: lines=%d, written=%d (updated=%d), unchanged=%d, duplicates=%d, errors=%d, %dms (%.1f rows/s)",
+                mode, fileName, getLinesRead(), getRowsWritten(), getUpdated(), getUnchanged(), getDuplicates(),
+                getErrors(), getElapsedMillis(), getRowsPerSecond());
+    }
+}
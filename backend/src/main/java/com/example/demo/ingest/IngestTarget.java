@@ -0,0 +1,16 @@
+package com.example.demo.ingest;
+
+/**
+ * JSONL 적재 대상 테이블.
+ */
+public enum IngestTarget {
+    RAW_RSS_ITEM,
+    JSONL_DATA,
+    /** 한 번 파싱하여 등록된 모든 {@link IngestSink} 에 저장 */
+    ALL;
+
+    /** "raw-rss-item", "jsonl_data" 같은 요청 파라미터 값을 변환한다. */
+    public static IngestTarget from(String value) {
+        return valueOf(value.trim().toUpperCase().replace('-', '_'));
+    }
+}
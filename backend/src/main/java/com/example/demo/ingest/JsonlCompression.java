@@ -0,0 +1,123 @@
+package com.example.demo.ingest;
+
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdInputStream;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * 데이터 디렉토리 JSONL 파일의 압축 형식. 파일 확장자로 결정한다.
+ * 압축 파일은 고정 크기 버퍼로 스트리밍 해제하며, 파일 전체를 메모리에 풀지 않는다.
+ * 바이트 위치(체크포인트, 오류 위치)는 모두 압축을 푼 JSONL 기준이다.
+ */
+public enum JsonlCompression {
+
+    NONE(".jsonl"),
+    GZIP(".jsonl.gz"),
+    ZSTD(".jsonl.zst");
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final String extension;
+
+    JsonlCompression(String extension) {
+        this.extension = extension;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /** .gz / .zst 이면 해당 압축 형식, 그 밖에는 NONE */
+    public static JsonlCompression of(String fileName) {
+        String name = fileName.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".gz")) return GZIP;
+        if (name.endsWith(".zst")) return ZSTD;
+        return NONE;
+    }
+
+    public static JsonlCompression of(Path path) {
+        return of(path.getFileName().toString());
+    }
+
+    /** .jsonl, .jsonl.gz, .jsonl.zst */
+    public static boolean isJsonlFileName(String fileName) {
+        String name = fileName.toLowerCase(Locale.ROOT);
+        for (JsonlCompression compression : values()) {
+            if (name.endsWith(compression.extension)) return true;
+        }
+        return false;
+    }
+
+    public InputStream open(Path path) throws IOException {
+        return open(path, 0);
+    }
+
+    /**
+     * 압축을 푼 내용의 offset 바이트부터 읽는 스트림을 연다.
+     * 압축 파일은 임의 위치로 이동할 수 없으므로 앞부분을 읽어서 버린다.
+     *
+     * @throws EOFException 파일 내용이 offset 보다 짧을 때
+     */
+    public InputStream open(Path path, long offset) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        if (this == NONE) {
+            if (offset > channel.size()) {
+                channel.close();
+                throw new EOFException(path + " 크기가 " + offset + " 보다 작습니다");
+            }
+            channel.position(offset);
+            return Channels.newInputStream(channel);
+        }
+
+        InputStream in = null;
+        try {
+            InputStream raw = new BufferedInputStream(Channels.newInputStream(channel), BUFFER_SIZE);
+            in = this == GZIP ? new GZIPInputStream(raw, BUFFER_SIZE) : new ZstdInputStream(raw);
+            in.skipNBytes(offset);
+            return in;
+        } catch (IOException | RuntimeException e) {
+            if (in != null) {
+                in.close();
+            } else {
+                channel.close();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 압축을 푼 크기의 추정치 (진행률 계산용). 알 수 없으면 -1.
+     * gzip 은 마지막 멤버의 ISIZE(4GB 미만일 때 정확), zstd 는 첫 프레임 헤더의 content size 를 쓴다.
+     * 스트리밍으로 압축한 zstd 파일은 보통 content size 가 없다.
+     */
+    public long estimateUncompressedSize(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (this == GZIP && size >= 18) {
+                ByteBuffer trailer = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+                channel.read(trailer, size - 4);
+                long isize = Integer.toUnsignedLong(trailer.getInt(0));
+                return Math.max(isize, size);
+            }
+            if (this == ZSTD) {
+                ByteBuffer header = ByteBuffer.allocate((int) Math.min(18, size));
+                channel.read(header, 0);
+                long contentSize = Zstd.getFrameContentSize(header.array(), 0, header.position());
+                return contentSize > 0 ? Math.max(contentSize, size) : -1;
+            }
+            return size;
+        }
+    }
+}
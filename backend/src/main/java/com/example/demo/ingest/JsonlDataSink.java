@@ -0,0 +1,36 @@
+package com.example.demo.ingest;
+
+import com.example.demo.service.JsonlDataService;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * jsonl_data 테이블 sink. guid 중복 제거는 {@link JsonlDataService#writeChunk} 와 같다.
+ */
+@Component
+public class JsonlDataSink implements IngestSink {
+
+    private final JsonlDataService jsonlDataService;
+    private final IngestBatchWriter batchWriter;
+
+    public JsonlDataSink(JsonlDataService jsonlDataService, IngestBatchWriter batchWriter) {
+        this.jsonlDataService = jsonlDataService;
+        this.batchWriter = batchWriter;
+    }
+
+    @Override
+    public String name() {
+        return "jsonl-data";
+    }
+
+    @Override
+    public int batchSize() {
+        return batchWriter.getBatchSize();
+    }
+
+    @Override
+    public void write(List<RssJsonlRecord> records, IngestStats stats) {
+        jsonlDataService.writeChunk(records.stream().map(RssJsonlRecord::toJsonlData).toList(), stats);
+    }
+}
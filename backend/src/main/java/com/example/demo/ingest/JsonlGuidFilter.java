@@ -0,0 +1,84 @@
+package com.example.demo.ingest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * jsonl_data 에 이미 있는 guid 들의 Bloom filter.
+ * 애플리케이션 시작 후 백그라운드에서 DB 의 guid 를 읽어 채우며, 채우기가 끝나기 전에는
+ * 모든 guid 를 "있을 수도 있음" 으로 취급해 DB 조회로 넘긴다.
+ */
+@Component
+public class JsonlGuidFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(JsonlGuidFilter.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BloomFilter filter;
+    private final long expectedGuids;
+    private final AtomicLong insertions = new AtomicLong();
+    private volatile boolean warmed;
+
+    public JsonlGuidFilter(JdbcTemplate jdbcTemplate,
+                           @Value("${ingest.dedup.expected-guids:5000000}") long expectedGuids,
+                           @Value("${ingest.dedup.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.expectedGuids = expectedGuids;
+        this.filter = new BloomFilter(expectedGuids, falsePositiveRate);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        Thread thread = new Thread(this::loadKnownGuids, "jsonl-guid-filter-warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void loadKnownGuids() {
+        long started = System.currentTimeMillis();
+        try {
+            jdbcTemplate.query(con -> {
+                var ps = con.prepareStatement("SELECT guid FROM jsonl_data WHERE guid IS NOT NULL");
+                ps.setFetchSize(10_000);
+                return ps;
+            }, rs -> {
+                put(rs.getString(1));
+            });
+            warmed = true;
+            log.info("jsonl_data guid Bloom filter 준비 완료: {}건, {}ms", insertions.get(),
+                    System.currentTimeMillis() - started);
+        } catch (RuntimeException e) {
+            log.warn("jsonl_data guid Bloom filter 초기화 실패, DB 조회로 중복을 확인합니다: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * false 면 DB 에 확실히 없는 guid. 준비 전에는 항상 true.
+     */
+    public boolean mightContain(String guid) {
+        return !warmed || filter.mightContain(guid);
+    }
+
+    public void put(String guid) {
+        filter.put(guid);
+        if (insertions.incrementAndGet() == expectedGuids) {
+            log.warn("jsonl_data guid 수가 ingest.dedup.expected-guids({})에 도달했습니다. 오탐률이 높아집니다.", expectedGuids);
+        }
+    }
+
+    public void putAll(Collection<String> guids) {
+        guids.forEach(this::put);
+    }
+
+    public boolean isWarmed() {
+        return warmed;
+    }
+}
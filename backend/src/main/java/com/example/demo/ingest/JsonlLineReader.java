@@ -0,0 +1,130 @@
+package com.example.demo.ingest;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * JSONL 파일을 한 줄씩 읽는 버퍼 기반 리더.
+ * 파일 전체를 메모리에 올리지 않고, 각 줄의 바이트 오프셋과 줄 번호를 함께 제공한다.
+ */
+public class JsonlLineReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final InputStream in;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int bufferPos;
+    private int bufferLimit;
+
+    private byte[] lineBytes = new byte[1024];
+    private int lineLength;
+
+    private long position;
+    private long lineOffset;
+    private long lineNumber;
+    private boolean terminated;
+    private String line;
+
+    public JsonlLineReader(InputStream in) {
+        this(in, 0L, 0L);
+    }
+
+    /**
+     * @param in          startOffset 위치부터 읽기 시작하는 스트림
+     * @param startOffset 스트림 첫 바이트의 파일 내 오프셋
+     * @param startLine   startOffset 이전까지 읽은 줄 수
+     */
+    public JsonlLineReader(InputStream in, long startOffset, long startLine) {
+        this.in = in;
+        this.position = startOffset;
+        this.lineNumber = startLine;
+    }
+
+    /**
+     * 다음 줄로 이동한다. 더 이상 읽을 줄이 없으면 false.
+     */
+    public boolean next() throws IOException {
+        lineLength = 0;
+        lineOffset = position;
+        terminated = false;
+
+        while (true) {
+            if (bufferPos >= bufferLimit) {
+                bufferLimit = in.read(buffer, 0, buffer.length);
+                bufferPos = 0;
+                if (bufferLimit <= 0) {
+                    bufferLimit = 0;
+                    if (lineLength == 0) {
+                        line = null;
+                        return false;
+                    }
+                    break;
+                }
+            }
+
+            int start = bufferPos;
+            while (bufferPos < bufferLimit && buffer[bufferPos] != '\n') {
+                bufferPos++;
+            }
+            append(start, bufferPos - start);
+            position += bufferPos - start;
+
+            if (bufferPos < bufferLimit) {
+                bufferPos++;
+                position++;
+                terminated = true;
+                break;
+            }
+        }
+
+        int length = lineLength;
+        if (length > 0 && lineBytes[length - 1] == '\r') {
+            length--;
+        }
+        line = new String(lineBytes, 0, length, StandardCharsets.UTF_8);
+        lineNumber++;
+        return true;
+    }
+
+    private void append(int start, int length) {
+        if (length == 0) return;
+        if (lineLength + length > lineBytes.length) {
+            lineBytes = Arrays.copyOf(lineBytes, Math.max(lineBytes.length * 2, lineLength + length));
+        }
+        System.arraycopy(buffer, start, lineBytes, lineLength, length);
+        lineLength += length;
+    }
+
+    /** 현재 줄 (줄바꿈 문자 제외) */
+    public String line() {
+        return line;
+    }
+
+    /** 현재 줄의 1부터 시작하는 줄 번호 */
+    public long lineNumber() {
+        return lineNumber;
+    }
+
+    /** 현재 줄이 시작하는 바이트 오프셋 */
+    public long lineOffset() {
+        return lineOffset;
+    }
+
+    /** 현재 줄 다음 바이트의 오프셋 (다음 줄의 시작 위치) */
+    public long position() {
+        return position;
+    }
+
+    /** 현재 줄이 줄바꿈으로 끝났는지 여부. 쓰는 중인 마지막 줄은 false */
+    public boolean terminated() {
+        return terminated;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
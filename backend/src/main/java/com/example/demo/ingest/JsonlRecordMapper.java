@@ -0,0 +1,137 @@
+package com.example.demo.ingest;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * JSONL 한 줄을 JsonNode 트리 없이 엔티티 setter 로 바로 매핑하는 매퍼.
+ * JSON 필드 → setter 연결은 만들 때 한 번만 구성하고, 줄마다 스트리밍 JsonParser 로 토큰을 읽어
+ * 연결된 필드만 값을 꺼내며 나머지 필드는 내용을 만들지 않고 건너뛴다.
+ * 만든 뒤에는 변경되지 않으므로 여러 파서 스레드가 함께 써도 된다.
+ *
+ * <pre>
+ * JsonlRecordMapper&lt;JsonlData&gt; mapper = JsonlRecordMapper.builder(JsonlData::new)
+ *         .text("title", JsonlData::setTitle)
+ *         .joinedText("tags", ", ", JsonlData::setTags)
+ *         .build();
+ * </pre>
+ */
+public final class JsonlRecordMapper<T> {
+
+    @FunctionalInterface
+    private interface FieldBinding<T> {
+        /** 파서가 필드 값의 첫 토큰에 있을 때 호출된다. 구조(객체/배열)를 읽었다면 끝까지 소비해야 한다. */
+        void bind(T target, JsonParser parser, JsonToken token) throws IOException;
+    }
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final Supplier<T> factory;
+    private final Map<String, FieldBinding<T>> bindings;
+
+    private JsonlRecordMapper(Supplier<T> factory, Map<String, FieldBinding<T>> bindings) {
+        this.factory = factory;
+        this.bindings = bindings;
+    }
+
+    public static <T> Builder<T> builder(Supplier<T> factory) {
+        return new Builder<>(factory);
+    }
+
+    public T map(String line) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(line)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "JSON 객체가 아닙니다");
+            }
+            T target = factory.get();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                // 필드 이름은 JsonFactory 의 심볼 테이블에서 재사용되는 문자열이라 줄마다 새로 만들지 않는다
+                FieldBinding<T> binding = bindings.get(parser.getCurrentName());
+                JsonToken token = parser.nextToken();
+                if (binding == null) {
+                    parser.skipChildren();
+                } else {
+                    binding.bind(target, parser, token);
+                }
+            }
+            return target;
+        }
+    }
+
+    // JsonNode.asText(null) 과 같은 규칙: null 은 null, 스칼라는 문자열, 객체/배열은 빈 문자열
+    private static String scalarText(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token.isStructStart()) {
+            parser.skipChildren();
+            return "";
+        }
+        return parser.getText();
+    }
+
+    public static final class Builder<T> {
+
+        private final Supplier<T> factory;
+        private final Map<String, FieldBinding<T>> bindings = new HashMap<>();
+
+        private Builder(Supplier<T> factory) {
+            this.factory = factory;
+        }
+
+        /** 문자열 필드. 숫자/불리언은 문자열로, 객체/배열은 빈 문자열로 넘긴다. */
+        public Builder<T> text(String field, BiConsumer<T, String> setter) {
+            bindings.put(field, (target, parser, token) -> setter.accept(target, scalarText(parser, token)));
+            return this;
+        }
+
+        /** 문자열로 읽어 변환한 값을 넘긴다. null 은 변환하지 않고 null 로 넘긴다. */
+        public <V> Builder<T> text(String field, Function<String, V> converter, BiConsumer<T, V> setter) {
+            bindings.put(field, (target, parser, token) -> {
+                String value = scalarText(parser, token);
+                setter.accept(target, value == null ? null : converter.apply(value));
+            });
+            return this;
+        }
+
+        /** 배열이면 원소를 separator 로 이어 붙이고, 배열이 아니면 {@link #text} 와 같다. */
+        public Builder<T> joinedText(String field, String separator, BiConsumer<T, String> setter) {
+            bindings.put(field, (target, parser, token) -> {
+                if (token != JsonToken.START_ARRAY) {
+                    setter.accept(target, scalarText(parser, token));
+                    return;
+                }
+                String first = null;
+                StringBuilder joined = null;
+                JsonToken element;
+                while ((element = parser.nextToken()) != JsonToken.END_ARRAY) {
+                    String text = element == JsonToken.VALUE_NULL ? "null" : scalarText(parser, element);
+                    if (first == null) {
+                        first = text;
+                    } else {
+                        // 원소가 둘 이상일 때만 StringBuilder 를 만든다
+                        if (joined == null) {
+                            joined = new StringBuilder(first);
+                        }
+                        joined.append(separator).append(text);
+                    }
+                }
+                setter.accept(target, joined != null ? joined.toString() : first != null ? first : "");
+            });
+            return this;
+        }
+
+        public JsonlRecordMapper<T> build() {
+            return new JsonlRecordMapper<>(factory, Map.copyOf(bindings));
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.demo.ingest;
+
+import com.example.demo.service.FileService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 단일 패스 다중 적재. 파일을 한 번 읽고 줄마다 한 번만 파싱한 레코드를 등록된 모든 {@link IngestSink} 로 보낸다.
+ * sink 마다 자기 스레드와 배치 크기로 저장하며, 한 sink 의 실패는 그 sink 의 통계에만 기록되고 다른 sink 는 계속 진행한다.
+ * 연속으로 실패한 sink 는 이번 적재에서 제외한다.
+ * 저장하지 못한 레코드(실패한 배치, 제외된 뒤 건너뛴 배치)는 sink 이름을 붙여 sink 별 dead-letter 파일에 남기므로,
+ * 청크는 모든 sink 가 처리를 마친 뒤에 커밋(체크포인트)되어도 레코드를 잃지 않고 그 sink 로만 재처리할 수 있다.
+ * 전체 통계의 rowsWritten 은 모든 sink 에 저장된 레코드 수이고, sink 별 저장 수는 sink 통계에 있다.
+ */
+@Service
+public class MultiSinkIngestService implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(MultiSinkIngestService.class);
+    private static final int MAX_CONSECUTIVE_FAILURES = 3;
+
+    private final FileService fileService;
+    private final IngestCheckpointService checkpointService;
+    private final IngestPipeline ingestPipeline;
+    private final DeadLetterStore deadLetterStore;
+    private final List<IngestSink> sinks;
+    private final ExecutorService executor;
+
+    public MultiSinkIngestService(FileService fileService,
+                                  IngestCheckpointService checkpointService,
+                                  IngestPipeline ingestPipeline,
+                                  DeadLetterStore deadLetterStore,
+                                  List<IngestSink> sinks) {
+        this.fileService = fileService;
+        this.checkpointService = checkpointService;
+        this.ingestPipeline = ingestPipeline;
+        this.deadLetterStore = deadLetterStore;
+        this.sinks = List.copyOf(sinks);
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "ingest-sink-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public List<String> getSinkNames() {
+        return sinks.stream().map(IngestSink::name).toList();
+    }
+
+    public IngestStats ingest(String fileName, boolean fromStart) throws IOException {
+        return ingest(fileName, new IngestStats(fileName, "multi-sink"), fromStart);
+    }
+
+    /**
+     * 마지막으로 적재한 위치(체크포인트)부터 이어서 읽는다.
+     *
+     * @param fromStart true 면 체크포인트를 무시하고 처음부터 읽는다
+     */
+    public IngestStats ingest(String fileName, IngestStats stats, boolean fromStart) throws IOException {
+        Path filePath = fileService.resolveDataFile(fileName);
+        try (IngestCheckpointService.Session session =
+                     checkpointService.open(fileName, IngestTarget.ALL, filePath, fromStart)) {
+            stats.resumedFrom(session.startOffset());
+            deadLetterStore.attach(stats, IngestTarget.ALL);
+
+            FanOut fanOut = new FanOut(stats, null);
+            ingestPipeline.run(session.reader(), stats, RssJsonlRecord::parse, fanOut::write, session);
+        }
+        log.info("JSONL 다중 적재 완료 {} {}", stats, getSinkNames());
+        return stats;
+    }
+
+    /**
+     * 이미 파싱한 레코드를 저장한다 (dead-letter 재처리용).
+     *
+     * @param sinkName 이 sink 에만 저장한다. null 이면 모든 sink
+     */
+    public IngestPipeline.ChunkWriter<RssJsonlRecord> writer(IngestStats stats, String sinkName) {
+        return new FanOut(stats, sinkName)::write;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /** 적재 한 번 동안의 sink 별 상태 */
+    private final class FanOut {
+
+        private final List<SinkState> states = new ArrayList<>();
+
+        FanOut(IngestStats stats, String sinkName) {
+            for (IngestSink sink : sinks) {
+                if (sinkName != null && !sinkName.equals(sink.name())) continue;
+                IngestStats sinkStats = stats.sink(sink.name());
+                deadLetterStore.attach(sinkStats, IngestTarget.ALL, sink.name());
+                states.add(new SinkState(sink, sinkStats));
+            }
+        }
+
+        void write(List<RssJsonlRecord> chunk, IngestStats stats) {
+            Set<RssJsonlRecord> failed = Collections.newSetFromMap(new ConcurrentHashMap<>());
+            CompletableFuture<?>[] pending = new CompletableFuture<?>[states.size()];
+            for (int i = 0; i < states.size(); i++) {
+                SinkState state = states.get(i);
+                pending[i] = CompletableFuture.runAsync(() -> state.write(chunk, failed), executor);
+            }
+            // SinkState.write 는 예외를 던지지 않으므로 모든 sink 가 끝나기를 기다리기만 한다
+            CompletableFuture.allOf(pending).join();
+            // RssJsonlRecord 는 equals 를 재정의하지 않으므로 객체 동일성으로 센다
+            stats.rowsWritten(chunk.size() - failed.size());
+        }
+    }
+
+    private static final class SinkState {
+
+        private final IngestSink sink;
+        private final IngestStats stats;
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        private volatile boolean disabled;
+
+        SinkState(IngestSink sink, IngestStats stats) {
+            this.sink = sink;
+            this.stats = stats;
+        }
+
+        /**
+         * @param failed 저장하지 못한 레코드를 모은다 (sink 들이 함께 쓴다)
+         */
+        void write(List<RssJsonlRecord> chunk, Set<RssJsonlRecord> failed) {
+            int batchSize = Math.max(1, sink.batchSize());
+            for (int from = 0; from < chunk.size(); from += batchSize) {
+                List<RssJsonlRecord> batch = chunk.subList(from, Math.min(chunk.size(), from + batchSize));
+                if (disabled) {
+                    rejected(batch, new IllegalStateException(
+                            sink.name() + " sink 가 " + MAX_CONSECUTIVE_FAILURES + "회 연속 실패하여 이번 적재에서 제외됨"), failed);
+                    continue;
+                }
+                try {
+                    sink.write(batch, stats);
+                    consecutiveFailures.set(0);
+                } catch (RuntimeException e) {
+                    rejected(batch, e, failed);
+                    int failures = consecutiveFailures.incrementAndGet();
+                    log.warn("{} sink 저장 실패 ({}회 연속): {}", sink.name(), failures, e.getMessage());
+                    if (failures >= MAX_CONSECUTIVE_FAILURES && !disabled) {
+                        disabled = true;
+                        log.error("{} sink 가 {}회 연속 실패하여 이번 적재에서 제외합니다", sink.name(), failures);
+                    }
+                }
+            }
+        }
+
+        private void rejected(List<RssJsonlRecord> batch, Throwable error, Set<RssJsonlRecord> failed) {
+            for (RssJsonlRecord record : batch) {
+                stats.rejected(record, error);
+            }
+            failed.addAll(batch);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.demo.ingest;
+
+import com.example.demo.entity.RawRssItem;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * raw_rss_item 테이블 sink. guid 가 없는 레코드는 저장하지 않는다.
+ */
+@Component
+public class RawRssItemSink implements IngestSink {
+
+    private final IngestBatchWriter batchWriter;
+
+    public RawRssItemSink(IngestBatchWriter batchWriter) {
+        this.batchWriter = batchWriter;
+    }
+
+    @Override
+    public String name() {
+        return "raw-rss-item";
+    }
+
+    @Override
+    public int batchSize() {
+        return batchWriter.getBatchSize();
+    }
+
+    @Override
+    public void write(List<RssJsonlRecord> records, IngestStats stats) {
+        List<RawRssItem> items = new ArrayList<>(records.size());
+        for (RssJsonlRecord record : records) {
+            if (record.getGuid() != null) {
+                items.add(record.toRawRssItem());
+            }
+        }
+        batchWriter.writeRawRssItems(items, stats);
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.demo.ingest;
+
+import com.example.demo.entity.JsonlData;
+import com.example.demo.entity.RawRssItem;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * RSS 수집 JSONL 한 줄을 한 번만 파싱한 결과.
+ * raw_rss_item, jsonl_data, 검색 인덱스가 쓰는 필드를 모두 담고, 각 sink 가 필요한 형태로 변환한다.
+ */
+@Getter
+@Setter
+public class RssJsonlRecord {
+
+    private static final JsonlRecordMapper<RssJsonlRecord> MAPPER = JsonlRecordMapper.builder(RssJsonlRecord::new)
+            .text("guid", RssJsonlRecord::setGuid)
+            .text("source", RssJsonlRecord::setSource)
+            .text("title", RssJsonlRecord::setTitle)
+            .text("link", RssJsonlRecord::setLink)
+            .text("pub_date", RssJsonlRecord::setPubDate)
+            .text("updated", RssJsonlRecord::setUpdated)
+            .text("dc_creator", RssJsonlRecord::setDcCreator)
+            .text("description", RssJsonlRecord::setDescription)
+            .text("content_encoded", RssJsonlRecord::setContentEncoded)
+            .text("dc_subject", RssJsonlRecord::setDcSubject)
+            .text("copyright", RssJsonlRecord::setCopyright)
+            .text("collected_at", RssJsonlRecord::setCollectedAt)
+            .text("raw_xml", RssJsonlRecord::setRawXml)
+            .text("author", RssJsonlRecord::setAuthor)
+            .text("category", RssJsonlRecord::setCategory)
+            .joinedText("tags", ", ", RssJsonlRecord::setTags)
+            .text("group", RssJsonlRecord::setGroup)
+            .text("scraped_at", RssJsonlRecord::setScrapedAt)
+            .build();
+
+    private String guid;
+    private String source;
+    private String title;
+    private String link;
+    private String pubDate;
+    private String updated;
+    private String dcCreator;
+    private String description;
+    private String contentEncoded;
+    private String dcSubject;
+    private String copyright;
+    private String collectedAt;
+    private String rawXml;
+    private String author;
+    private String category;
+    private String tags;
+    private String group;
+    private String scrapedAt;
+
+    public static RssJsonlRecord parse(String line) throws IOException {
+        return MAPPER.map(line);
+    }
+
+    public RawRssItem toRawRssItem() {
+        RawRssItem item = new RawRssItem();
+        item.setGuid(guid);
+        item.setSource(source);
+        item.setTitle(title);
+        item.setLink(link);
+        item.setPubDate(parseDateTime(pubDate));
+        item.setUpdated(parseDateTime(updated));
+        item.setDcCreator(dcCreator);
+        item.setDescription(description);
+        item.setContentEncoded(contentEncoded);
+        item.setDcSubject(dcSubject);
+        item.setCopyright(copyright);
+        item.setCollectedAt(parseDateTime(collectedAt));
+        item.setRawXml(rawXml);
+        return item;
+    }
+
+    public JsonlData toJsonlData() {
+        JsonlData data = new JsonlData();
+        data.setGuid(guid);
+        data.setSource(source);
+        data.setTitle(title);
+        data.setLink(link);
+        data.setPubDate(pubDate);
+        data.setDescription(description);
+        data.setAuthor(author);
+        data.setCategory(category);
+        data.setTags(tags);
+        data.setGroupName(group);
+        data.setScrapedAt(scrapedAt);
+        return data;
+    }
+
+    // ISO-8601 날짜/시각. 형식이 다르면 null
+    public static LocalDateTime parseDateTime(String value) {
+        if (value == null || value.isBlank()) return null;
+        try {
+            return LocalDateTime.parse(value, DateTimeFormatter.ISO_DATE_TIME);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
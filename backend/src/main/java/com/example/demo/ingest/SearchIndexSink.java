@@ -0,0 +1,93 @@
+package com.example.demo.ingest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.elasticsearch.BulkFailureException;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.IndexQuery;
+import org.springframework.data.elasticsearch.core.query.IndexQueryBuilder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Elasticsearch 검색 인덱스 sink (ingest.sinks.search-index.enabled=true 일 때만 등록).
+ * guid 를 문서 ID 로 써서 다시 적재해도 같은 문서를 덮어쓴다.
+ */
+@Component
+@ConditionalOnProperty(name = "ingest.sinks.search-index.enabled", havingValue = "true")
+public class SearchIndexSink implements IngestSink {
+
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final IndexCoordinates index;
+    private final int batchSize;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public SearchIndexSink(ElasticsearchOperations elasticsearchOperations,
+                           @Value("${ingest.sinks.search-index.index:rss_items}") String index,
+                           @Value("${ingest.sinks.search-index.batch-size:500}") int batchSize) {
+        this.elasticsearchOperations = elasticsearchOperations;
+        this.index = IndexCoordinates.of(index);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @Override
+    public String name() {
+        return "search-index";
+    }
+
+    @Override
+    public int batchSize() {
+        return batchSize;
+    }
+
+    @Override
+    public void write(List<RssJsonlRecord> records, IngestStats stats) {
+        List<IndexQuery> queries = new ArrayList<>(records.size());
+        for (RssJsonlRecord record : records) {
+            if (record.getGuid() == null) continue;
+            try {
+                queries.add(new IndexQueryBuilder()
+                        .withId(record.getGuid())
+                        .withSource(objectMapper.writeValueAsString(toDocument(record)))
+                        .build());
+            } catch (JsonProcessingException e) {
+                stats.error();
+            }
+        }
+        if (queries.isEmpty()) return;
+
+        try {
+            elasticsearchOperations.bulkIndex(queries, index);
+            stats.rowsWritten(queries.size());
+        } catch (BulkFailureException e) {
+            // 일부 문서만 실패한 경우
+            int failed = e.getFailedDocuments().size();
+            stats.rowsWritten(queries.size() - failed);
+            for (int i = 0; i < failed; i++) {
+                stats.error();
+            }
+        }
+    }
+
+    private Map<String, Object> toDocument(RssJsonlRecord record) {
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("guid", record.getGuid());
+        document.put("source", record.getSource());
+        document.put("title", record.getTitle());
+        document.put("link", record.getLink());
+        document.put("pub_date", record.getPubDate());
+        document.put("description", record.getDescription());
+        document.put("author", record.getAuthor() != null ? record.getAuthor() : record.getDcCreator());
+        document.put("category", record.getCategory() != null ? record.getCategory() : record.getDcSubject());
+        document.put("tags", record.getTags());
+        document.put("collected_at", record.getCollectedAt());
+        return document;
+    }
+}
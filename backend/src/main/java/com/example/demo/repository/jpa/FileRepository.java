@@ -1,5 +1,6 @@
 package com.example.demo.repository.jpa;
 
+import com.example.demo.dto.FileMetadata;
 import com.example.demo.entity.FileEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -18,5 +19,24 @@ public interface FileRepository extends JpaRepository<FileEntity, Long> {
     List<FileEntity> findAllOrderByCreatedAtDesc();
     List<FileEntity> findByFileSizeGreaterThan(Long fileSize);
     List<FileEntity> findByFileSizeBetween(Long minSize, Long maxSize);
+
+    // 목록 조회용: 본문(content) 컬럼을 읽지 않는다
+    @Query("SELECT new com.example.demo.dto.FileMetadata(f.id, f.fileName, f.filePath, f.fileSize, f.contentHash, f.createdAt, f.updatedAt) " +
+           "FROM FileEntity f ORDER BY f.createdAt DESC")
+    List<FileMetadata> findAllMetadata();
+
+    @Query("SELECT new com.example.demo.dto.FileMetadata(f.id, f.fileName, f.filePath, f.fileSize, f.contentHash, f.createdAt, f.updatedAt) " +
+           "FROM FileEntity f WHERE f.id = :id")
+    Optional<FileMetadata> findMetadataById(@Param("id") Long id);
+
+    @Query("SELECT new com.example.demo.dto.FileMetadata(f.id, f.fileName, f.filePath, f.fileSize, f.contentHash, f.createdAt, f.updatedAt) " +
+           "FROM FileEntity f WHERE f.fileName = :fileName")
+    List<FileMetadata> findMetadataByFileName(@Param("fileName") String fileName);
+
+    @Query("SELECT new com.example.demo.dto.FileMetadata(f.id, f.fileName, f.filePath, f.fileSize, f.contentHash, f.createdAt, f.updatedAt) " +
+           "FROM FileEntity f WHERE f.fileName LIKE CONCAT('%', :fileName, '%')")
+    List<FileMetadata> findMetadataByFileNameContaining(@Param("fileName") String fileName);
+
+    long countByContentHash(String contentHash);
 }
 
@@ -0,0 +1,12 @@
+package com.example.demo.repository.jpa;
+
+import com.example.demo.entity.IngestCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface IngestCheckpointRepository extends JpaRepository<IngestCheckpoint, Long> {
+    Optional<IngestCheckpoint> findByFileNameAndTarget(String fileName, String target);
+}
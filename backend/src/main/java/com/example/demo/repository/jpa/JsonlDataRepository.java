@@ -6,12 +6,16 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface JsonlDataRepository extends JpaRepository<JsonlData, Long> {
     Optional<JsonlData> findByGuid(String guid);
+    // [guid, contentHash] 쌍
+    @Query("SELECT j.guid, j.contentHash FROM JsonlData j WHERE j.guid IN :guids")
+    List<Object[]> findContentHashes(@Param("guids") Collection<String> guids);
     List<JsonlData> findBySource(String source);
     List<JsonlData> findByAuthor(String author);
     @Query("SELECT j FROM JsonlData j WHERE j.title LIKE %:keyword%")
@@ -0,0 +1,50 @@
+package com.example.demo.repository.jpa;
+
+import com.example.demo.dto.RssItemCursor;
+import com.example.demo.dto.RssItemSummary;
+import com.example.demo.entity.RawRssItem;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public interface RawRssItemRepositoryCustom {
+
+    /**
+     * 새 guid 의 행을 다중 행 INSERT 문으로 한 번에 저장한다.
+     * save() 와 달리 merge 를 위한 SELECT 를 하지 않는다. 이미 있는 guid 가 섞여 있으면 DuplicateKeyException.
+     * author/category 컬렉션 테이블은 건드리지 않는다.
+     *
+     * collectedAt 이 비어 있으면 @PrePersist 와 같이 현재 시각으로 채우고, contentHash 가 비어 있으면 계산한다.
+     *
+     * @return 저장한 항목 수
+     */
+    int insertAll(List<RawRssItem> items);
+
+    /**
+     * 이미 있는 guid 의 행에서 값이 바뀐 피드 내용 컬럼(source, title, link, pub_date, updated, dc_creator,
+     * description, content_encoded, dc_subject, comments, language, copyright, raw_xml)과 content_hash 만 갱신한다.
+     * 저장된 값은 한 번에 읽어 비교하며, LONGTEXT 컬럼은 본문 대신 SHA2() 값만 읽는다.
+     * 값이 같은 LONGTEXT 는 보내지 않으므로 전송량과 binlog 가 바뀐 컬럼 크기만큼만 든다.
+     * collected_at (처음 수집 시각), processed, error_message (후처리 상태)와 컬렉션 테이블은 건드리지 않는다.
+     *
+     * @return 갱신한 행 수 (그 사이 삭제된 guid 는 제외)
+     */
+    int updateChanged(List<RawRssItem> items);
+
+    /**
+     * 이미 저장된 guid 의 content_hash. 없는 guid 는 결과에 들어가지 않고,
+     * content_hash 가 아직 없는 행은 null 값으로 들어간다.
+     */
+    Map<String, Long> findContentHashes(Collection<String> guids);
+
+    /**
+     * collected_at, guid 내림차순 목록에서 after 다음부터 limit 건.
+     * (collected_at, guid) 인덱스를 따라 읽으므로 몇 번째 페이지든 비용이 같다. collected_at 이 없는 행은 제외한다.
+     *
+     * @param after  null 이면 처음부터
+     * @param fields 포함할 {@link RssItemSummary#HEAVY_FIELDS}. 비어 있으면 LONGTEXT 컬럼과 컬렉션 테이블을 읽지 않는다
+     */
+    List<RssItemSummary> findSummaries(RssItemCursor after, int limit, Set<String> fields);
+}
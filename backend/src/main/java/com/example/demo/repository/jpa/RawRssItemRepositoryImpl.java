@@ -0,0 +1,353 @@
+package com.example.demo.repository.jpa;
+
+import com.example.demo.dto.RssItemCursor;
+import com.example.demo.dto.RssItemSummary;
+import com.example.demo.entity.RawRssItem;
+import com.example.demo.storage.BlobStore;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+public class RawRssItemRepositoryImpl implements RawRssItemRepositoryCustom {
+
+    /** raw_rss_item 에 INSERT 하는 컬럼 순서 */
+    public static final String[] COLUMNS = {
+        "guid", "source", "title", "link", "pub_date", "updated", "dc_creator", "description",
+        "content_encoded", "dc_subject", "collected_at", "comments", "language", "copyright",
+        "raw_xml", "processed", "error_message", "content_hash"
+    };
+
+    // 바뀐 행에서 새 값으로 덮어쓸 수 있는 피드 내용 컬럼. 나머지(collected_at, processed, error_message)는 기존 값 유지
+    private static final List<ContentColumn> CONTENT_COLUMNS = List.of(
+        new ContentColumn("source", Kind.TEXT, RawRssItem::getSource),
+        new ContentColumn("title", Kind.TEXT, RawRssItem::getTitle),
+        new ContentColumn("link", Kind.TEXT, RawRssItem::getLink),
+        new ContentColumn("pub_date", Kind.TIMESTAMP, RawRssItem::getPubDate),
+        new ContentColumn("updated", Kind.TIMESTAMP, RawRssItem::getUpdated),
+        new ContentColumn("dc_creator", Kind.TEXT, RawRssItem::getDcCreator),
+        new ContentColumn("description", Kind.LONGTEXT, RawRssItem::getDescription),
+        new ContentColumn("content_encoded", Kind.LONGTEXT, RawRssItem::getContentEncoded),
+        new ContentColumn("dc_subject", Kind.TEXT, RawRssItem::getDcSubject),
+        new ContentColumn("comments", Kind.TEXT, RawRssItem::getComments),
+        new ContentColumn("language", Kind.TEXT, RawRssItem::getLanguage),
+        new ContentColumn("copyright", Kind.TEXT, RawRssItem::getCopyright),
+        new ContentColumn("raw_xml", Kind.LONGTEXT, RawRssItem::getRawXml)
+    );
+
+    /** 바뀐 행에서 값이 다를 때만 덮어쓰는 컬럼 이름 (content_hash 제외) */
+    public static final List<String> CONTENT_COLUMN_NAMES = CONTENT_COLUMNS.stream().map(ContentColumn::name).toList();
+
+    // 목록 조회에서 항상 읽는 컬럼 (LONGTEXT 제외)
+    private static final String SUMMARY_COLUMNS = "guid, source, title, link, pub_date, updated, dc_creator, dc_subject,"
+            + " collected_at, comments, language, copyright, processed, error_message";
+
+    // 한 문장에 담을 최대 행 수와 대략적인 최대 크기 (max_allowed_packet 보다 충분히 작게)
+    private static final int MAX_ROWS_PER_STATEMENT = 500;
+    private static final long MAX_BYTES_PER_STATEMENT = 4L * 1024 * 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Integer, String> sqlByRowCount = new ConcurrentHashMap<>();
+
+    public RawRssItemRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int insertAll(List<RawRssItem> items) {
+        List<RawRssItem> statementRows = new ArrayList<>();
+        long statementBytes = 0;
+        for (RawRssItem item : items) {
+            long rowBytes = estimateBytes(item);
+            if (!statementRows.isEmpty()
+                    && (statementRows.size() >= MAX_ROWS_PER_STATEMENT || statementBytes + rowBytes > MAX_BYTES_PER_STATEMENT)) {
+                execute(statementRows);
+                statementRows = new ArrayList<>();
+                statementBytes = 0;
+            }
+            statementRows.add(item);
+            statementBytes += rowBytes;
+        }
+        if (!statementRows.isEmpty()) {
+            execute(statementRows);
+        }
+        return items.size();
+    }
+
+    private void execute(List<RawRssItem> rows) {
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update(sqlFor(rows.size()), ps -> {
+            int index = 1;
+            for (RawRssItem item : rows) {
+                if (item.getCollectedAt() == null) {
+                    item.setCollectedAt(now);
+                }
+                if (item.getProcessed() == null) {
+                    item.setProcessed(false);
+                }
+                if (item.getContentHash() == null) {
+                    item.setContentHash(item.computeContentHash());
+                }
+                ps.setString(index++, item.getGuid());
+                ps.setString(index++, item.getSource());
+                ps.setString(index++, item.getTitle());
+                ps.setString(index++, item.getLink());
+                setTimestamp(ps, index++, item.getPubDate());
+                setTimestamp(ps, index++, item.getUpdated());
+                ps.setString(index++, item.getDcCreator());
+                ps.setString(index++, item.getDescription());
+                ps.setString(index++, item.getContentEncoded());
+                ps.setString(index++, item.getDcSubject());
+                setTimestamp(ps, index++, item.getCollectedAt());
+                ps.setString(index++, item.getComments());
+                ps.setString(index++, item.getLanguage());
+                ps.setString(index++, item.getCopyright());
+                ps.setString(index++, item.getRawXml());
+                ps.setBoolean(index++, item.getProcessed());
+                ps.setString(index++, item.getErrorMessage());
+                ps.setLong(index++, item.getContentHash());
+            }
+        });
+    }
+
+    @Override
+    public int updateChanged(List<RawRssItem> items) {
+        if (items.isEmpty()) {
+            return 0;
+        }
+        Map<String, Object[]> stored = findStoredValues(items);
+
+        // 값이 다른 컬럼 조합마다 같은 UPDATE 문으로 묶는다
+        Map<List<ContentColumn>, List<RawRssItem>> byColumns = new LinkedHashMap<>();
+        for (RawRssItem item : items) {
+            Object[] values = stored.get(item.getGuid());
+            if (values == null) {
+                continue; // 그 사이 삭제된 행
+            }
+            if (item.getContentHash() == null) {
+                item.setContentHash(item.computeContentHash());
+            }
+            List<ContentColumn> differing = new ArrayList<>();
+            for (int i = 0; i < CONTENT_COLUMNS.size(); i++) {
+                ContentColumn column = CONTENT_COLUMNS.get(i);
+                if (!Objects.equals(column.comparable(item), values[i])) {
+                    differing.add(column);
+                }
+            }
+            byColumns.computeIfAbsent(differing, columns -> new ArrayList<>()).add(item);
+        }
+
+        int updated = 0;
+        for (Map.Entry<List<ContentColumn>, List<RawRssItem>> group : byColumns.entrySet()) {
+            List<ContentColumn> columns = group.getKey();
+            StringBuilder sql = new StringBuilder("UPDATE raw_rss_item SET ");
+            for (ContentColumn column : columns) {
+                sql.append(column.name()).append(" = ?, ");
+            }
+            sql.append("content_hash = ? WHERE guid = ?");
+            int[][] counts = jdbcTemplate.batchUpdate(sql.toString(), group.getValue(), MAX_ROWS_PER_STATEMENT, (ps, item) -> {
+                int index = 1;
+                for (ContentColumn column : columns) {
+                    column.bind(ps, index++, item);
+                }
+                ps.setLong(index++, item.getContentHash());
+                ps.setString(index, item.getGuid());
+            });
+            for (int[] batch : counts) {
+                for (int count : batch) {
+                    updated += Math.max(count, 0);
+                }
+            }
+        }
+        return updated;
+    }
+
+    // guid 별 저장된 내용 컬럼 값. LONGTEXT 는 본문 대신 SHA-256 만 읽는다
+    private Map<String, Object[]> findStoredValues(List<RawRssItem> items) {
+        Map<String, Object[]> stored = new HashMap<>();
+        StringBuilder select = new StringBuilder("SELECT guid");
+        for (ContentColumn column : CONTENT_COLUMNS) {
+            select.append(", ").append(column.select());
+        }
+        select.append(" FROM raw_rss_item WHERE guid IN (");
+        for (int from = 0; from < items.size(); from += MAX_ROWS_PER_STATEMENT) {
+            List<RawRssItem> page = items.subList(from, Math.min(items.size(), from + MAX_ROWS_PER_STATEMENT));
+            String sql = select + "?, ".repeat(page.size() - 1) + "?)";
+            jdbcTemplate.query(sql, rs -> {
+                Object[] values = new Object[CONTENT_COLUMNS.size()];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = CONTENT_COLUMNS.get(i).stored(rs, i + 2);
+                }
+                stored.put(rs.getString(1), values);
+            }, page.stream().map(RawRssItem::getGuid).toArray());
+        }
+        return stored;
+    }
+
+    @Override
+    public Map<String, Long> findContentHashes(Collection<String> guids) {
+        Map<String, Long> hashes = new HashMap<>();
+        if (guids.isEmpty()) {
+            return hashes;
+        }
+        String sql = "SELECT guid, content_hash FROM raw_rss_item WHERE guid IN ("
+                + "?, ".repeat(guids.size() - 1) + "?)";
+        jdbcTemplate.query(sql, rs -> {
+            long hash = rs.getLong(2);
+            hashes.put(rs.getString(1), rs.wasNull() ? null : hash);
+        }, guids.toArray());
+        return hashes;
+    }
+
+    @Override
+    public List<RssItemSummary> findSummaries(RssItemCursor after, int limit, Set<String> fields) {
+        StringBuilder sql = new StringBuilder("SELECT ").append(SUMMARY_COLUMNS);
+        if (fields.contains("description")) sql.append(", description");
+        if (fields.contains("contentEncoded")) sql.append(", content_encoded");
+        if (fields.contains("rawXml")) sql.append(", raw_xml");
+        sql.append(" FROM raw_rss_item WHERE collected_at IS NOT NULL");
+
+        List<Object> args = new ArrayList<>();
+        if (after != null) {
+            Timestamp collectedAt = Timestamp.valueOf(after.collectedAt());
+            sql.append(" AND (collected_at < ? OR (collected_at = ? AND guid < ?))");
+            args.add(collectedAt);
+            args.add(collectedAt);
+            args.add(after.guid());
+        }
+        sql.append(" ORDER BY collected_at DESC, guid DESC LIMIT ?");
+        args.add(limit);
+
+        List<RssItemSummary> items = jdbcTemplate.query(sql.toString(), (rs, rowNum) -> toSummary(rs, fields), args.toArray());
+        if (!items.isEmpty() && fields.contains("author")) {
+            fillCollection(items, "rss_item_authors", "author", RssItemSummary::setAuthor);
+        }
+        if (!items.isEmpty() && fields.contains("category")) {
+            fillCollection(items, "rss_item_categories", "category", RssItemSummary::setCategory);
+        }
+        return items;
+    }
+
+    private static RssItemSummary toSummary(ResultSet rs, Set<String> fields) throws SQLException {
+        RssItemSummary item = new RssItemSummary();
+        item.setGuid(rs.getString("guid"));
+        item.setSource(rs.getString("source"));
+        item.setTitle(rs.getString("title"));
+        item.setLink(rs.getString("link"));
+        item.setPubDate(toLocalDateTime(rs.getTimestamp("pub_date")));
+        item.setUpdated(toLocalDateTime(rs.getTimestamp("updated")));
+        item.setDcCreator(rs.getString("dc_creator"));
+        item.setDcSubject(rs.getString("dc_subject"));
+        item.setCollectedAt(toLocalDateTime(rs.getTimestamp("collected_at")));
+        item.setComments(rs.getString("comments"));
+        item.setLanguage(rs.getString("language"));
+        item.setCopyright(rs.getString("copyright"));
+        boolean processed = rs.getBoolean("processed");
+        item.setProcessed(rs.wasNull() ? null : processed);
+        item.setErrorMessage(rs.getString("error_message"));
+        if (fields.contains("description")) item.setDescription(rs.getString("description"));
+        if (fields.contains("contentEncoded")) item.setContentEncoded(rs.getString("content_encoded"));
+        if (fields.contains("rawXml")) item.setRawXml(rs.getString("raw_xml"));
+        return item;
+    }
+
+    // 페이지의 모든 guid 에 대해 컬렉션 테이블을 한 번에 읽는다 (항목마다 SELECT 하지 않음)
+    private void fillCollection(List<RssItemSummary> items, String table, String column,
+                                BiConsumer<RssItemSummary, List<String>> setter) {
+        Map<String, List<String>> values = new HashMap<>();
+        for (RssItemSummary item : items) {
+            values.put(item.getGuid(), new ArrayList<>());
+        }
+        String sql = "SELECT rss_item_guid, " + column + " FROM " + table + " WHERE rss_item_guid IN ("
+                + "?, ".repeat(values.size() - 1) + "?)";
+        jdbcTemplate.query(sql, rs -> {
+            values.get(rs.getString(1)).add(rs.getString(2));
+        }, values.keySet().toArray());
+        for (RssItemSummary item : items) {
+            setter.accept(item, values.get(item.getGuid()));
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp value) {
+        return value == null ? null : value.toLocalDateTime();
+    }
+
+    private String sqlFor(int rowCount) {
+        return sqlByRowCount.computeIfAbsent(rowCount, count -> {
+            String row = "(" + "?, ".repeat(COLUMNS.length - 1) + "?)";
+            StringBuilder sql = new StringBuilder("INSERT INTO raw_rss_item (")
+                    .append(String.join(", ", COLUMNS))
+                    .append(") VALUES ");
+            for (int i = 0; i < count; i++) {
+                if (i > 0) sql.append(", ");
+                sql.append(row);
+            }
+            return sql.toString();
+        });
+    }
+
+    private static void setTimestamp(PreparedStatement ps, int index, LocalDateTime value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.TIMESTAMP);
+        } else {
+            ps.setTimestamp(index, Timestamp.valueOf(value));
+        }
+    }
+
+    private enum Kind { TEXT, TIMESTAMP, LONGTEXT }
+
+    private record ContentColumn(String name, Kind kind, Function<RawRssItem, Object> value) {
+
+        String select() {
+            return kind == Kind.LONGTEXT ? "SHA2(" + name + ", 256)" : name;
+        }
+
+        // 저장된 값과 비교할 값. LONGTEXT 는 SHA2() 와 같은 UTF-8 SHA-256 16진 문자열
+        Object comparable(RawRssItem item) {
+            Object current = value.apply(item);
+            if (kind != Kind.LONGTEXT || current == null) {
+                return current;
+            }
+            return HexFormat.of().formatHex(BlobStore.sha256().digest(((String) current).getBytes(StandardCharsets.UTF_8)));
+        }
+
+        Object stored(ResultSet rs, int index) throws SQLException {
+            return kind == Kind.TIMESTAMP ? toLocalDateTime(rs.getTimestamp(index)) : rs.getString(index);
+        }
+
+        void bind(PreparedStatement ps, int index, RawRssItem item) throws SQLException {
+            if (kind == Kind.TIMESTAMP) {
+                setTimestamp(ps, index, (LocalDateTime) value.apply(item));
+            } else {
+                ps.setString(index, (String) value.apply(item));
+            }
+        }
+    }
+
+    private static long estimateBytes(RawRssItem item) {
+        return 256 + length(item.getTitle()) + length(item.getLink()) + length(item.getDescription())
+                + length(item.getContentEncoded()) + length(item.getRawXml()) + length(item.getSource());
+    }
+
+    // UTF-8 로 한 글자가 최대 3바이트(BMP)라고 보고 넉넉하게 계산
+    private static long length(String value) {
+        return value == null ? 0 : value.length() * 3L;
+    }
+}
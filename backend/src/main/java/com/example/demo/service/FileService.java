@@ -1,37 +1,87 @@
 package com.example.demo.service;
 
+import com.example.demo.dto.FileMetadata;
 import com.example.demo.entity.FileEntity;
 import com.example.demo.entity.RawRssItem;
+import com.example.demo.ingest.DeadLetterStore;
+import com.example.demo.ingest.IngestBatchWriter;
+import com.example.demo.ingest.IngestCheckpointService;
+import com.example.demo.ingest.IngestPipeline;
+import com.example.demo.ingest.IngestStats;
+import com.example.demo.ingest.IngestTarget;
+import com.example.demo.ingest.JsonlCompression;
+import com.example.demo.ingest.JsonlLineReader;
+import com.example.demo.ingest.RssJsonlRecord;
 import com.example.demo.repository.jpa.FileRepository;
 import com.example.demo.repository.jpa.RawRssItemRepository;
+import com.example.demo.storage.BlobStore;
+import com.example.demo.storage.UploadSpool;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
+import java.nio.file.StandardCopyOption;
 import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
 public class FileService {
 
+    private static final Logger log = LoggerFactory.getLogger(FileService.class);
+
     @Autowired
     private FileRepository fileRepository;
 
     @Autowired
     private RawRssItemRepository rawRssItemRepository;
 
+    @Autowired
+    private IngestBatchWriter batchWriter;
+
+    @Autowired
+    private IngestPipeline ingestPipeline;
+
+    @Autowired
+    private IngestCheckpointService checkpointService;
+
+    @Autowired
+    private DeadLetterStore deadLetterStore;
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @Autowired
+    private UploadSpool uploadSpool;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     private final ObjectMapper objectMapper = new ObjectMapper();
-    private final Path dataDirectory = Paths.get("d:\\data");
+    private final Path dataDirectory;
+
+    public FileService(@Value("${data.directory:d:\\data}") String dataDirectory) {
+        this.dataDirectory = Paths.get(dataDirectory);
+    }
+
+    public Path getDataDirectory() {
+        return dataDirectory;
+    }
 
     public List<String> getJsonlFileNamesFromDataDirectory() throws IOException {
         if (!Files.exists(dataDirectory) || !Files.isDirectory(dataDirectory)) {
@@ -40,13 +90,26 @@ public class FileService {
 
         try (var stream = Files.list(dataDirectory)) {
             return stream
-                    .filter(path -> !Files.isDirectory(path) && path.toString().toLowerCase().endsWith(".jsonl"))
+                    .filter(path -> !Files.isDirectory(path) && isJsonlFileName(path.getFileName().toString()))
                     .map(path -> path.getFileName().toString())
                     .collect(Collectors.toList());
         }
     }
 
-    public String getDataFileContent(String fileName) throws IOException {
+    // .jsonl 과 압축 파일 .jsonl.gz, .jsonl.zst
+    public boolean isJsonlFileName(String fileName) {
+        return JsonlCompression.isJsonlFileName(fileName);
+    }
+
+    // 압축 파일은 확장자에 맞게 풀면서 out 으로 흘려보낸다 (압축을 푼 전체를 메모리에 올리지 않는다)
+    public void copyDataFileContent(Path filePath, OutputStream out) throws IOException {
+        try (InputStream in = JsonlCompression.of(filePath).open(filePath)) {
+            in.transferTo(out);
+        }
+    }
+
+    // 데이터 디렉토리 안의 파일 경로를 검증하여 반환
+    public Path resolveDataFile(String fileName) throws IOException {
         Path filePath = dataDirectory.resolve(fileName).normalize();
 
         if (!filePath.startsWith(dataDirectory)) {
@@ -57,37 +120,37 @@ public class FileService {
             throw new IOException("File not found or is a directory: " + fileName);
         }
 
-        return Files.readString(filePath, StandardCharsets.UTF_8);
+        return filePath;
     }
 
+    // 파일 본문은 BlobStore 에 저장하고 행에는 메타데이터와 해시만 남긴다
+    // 행 저장은 blob 해시 락 안에서 하므로 같은 blob 을 동시에 해제하는 쪽이 새 참조를 놓치지 않는다
     public FileEntity saveFileFromPath(String filePath) throws IOException {
         Path path = Paths.get(filePath);
 
         if (!Files.exists(path)) {
             throw new IOException("파일을 찾을 수 없습니다: " + filePath);
         }
-
-        String content = Files.readString(path, StandardCharsets.UTF_8);
         String fileName = path.getFileName().toString();
-        long fileSize = Files.size(path);
 
         Optional<FileEntity> existingFile = fileRepository.findByFilePath(filePath);
+        String previousHash = existingFile.map(FileEntity::getContentHash).orElse(null);
 
-        FileEntity entity;
-        if (existingFile.isPresent()) {
-            entity = existingFile.get();
-            entity.setContent(content);
-            entity.setFileSize(fileSize);
-        } else {
-            entity = FileEntity.builder()
-                    .fileName(fileName)
-                    .filePath(filePath)
-                    .content(content)
-                    .fileSize(fileSize)
-                    .build();
+        FileEntity saved;
+        try (InputStream in = Files.newInputStream(path)) {
+            saved = blobStore.put(in, blob -> {
+                FileEntity entity = existingFile.orElseGet(() -> FileEntity.builder()
+                        .fileName(fileName)
+                        .filePath(filePath)
+                        .build());
+                entity.setContentHash(blob.hash());
+                entity.setContent(null);
+                entity.setFileSize(blob.size());
+                return fileRepository.save(entity);
+            });
         }
-
-        return fileRepository.save(entity);
+        releaseBlob(previousHash);
+        return saved;
     }
 
     public FileEntity saveFileFromUpload(MultipartFile file) throws IOException {
@@ -95,85 +158,179 @@ public class FileService {
             throw new IllegalArgumentException("업로드된 파일이 비어있습니다.");
         }
 
-        String fileName = file.getOriginalFilename();
-        String content = new String(file.getBytes(), StandardCharsets.UTF_8);
-        long fileSize = file.getSize();
+        // 스풀 파일로 받으면서 해시를 계산하고, 그 파일을 그대로 blob 저장소로 옮긴다
+        try (UploadSpool.Spooled spooled = uploadSpool.spool(file)) {
+            return blobStore.move(spooled.file(), spooled.hash(), blob -> fileRepository.save(FileEntity.builder()
+                    .fileName(file.getOriginalFilename())
+                    .contentHash(blob.hash())
+                    .fileSize(blob.size())
+                    .build()));
+        }
+    }
 
-        FileEntity fileEntity = FileEntity.builder()
-                .fileName(fileName)
-                .content(content)
-                .fileSize(fileSize)
-                .build();
+    /**
+     * 스풀된 JSONL 업로드를 데이터 디렉토리 최상위의 {SHA-256}{확장자} 로 옮기고 그 파일 이름을 반환한다.
+     * 같은 내용은 같은 이름이 되므로 다시 올리면 기존 파일과 적재 체크포인트를 그대로 쓴다.
+     * 최상위에 두므로 파일 목록과 /data/{fileName} 조회에서도 그 이름으로 찾을 수 있다.
+     */
+    public String saveUploadToDataDirectory(UploadSpool.Spooled spooled) throws IOException {
+        String originalName = spooled.originalFilename();
+        if (originalName == null || !JsonlCompression.isJsonlFileName(originalName)) {
+            throw new IllegalArgumentException("JSONL 파일(.jsonl, .jsonl.gz, .jsonl.zst)만 적재할 수 있습니다: " + originalName);
+        }
+        String fileName = spooled.hash() + JsonlCompression.of(originalName).getExtension();
+        Path target = dataDirectory.resolve(fileName);
+        if (Files.exists(target)) {
+            log.info("같은 내용의 업로드가 이미 있음: {}", fileName);
+            return fileName;
+        }
+        Files.createDirectories(dataDirectory);
+        try {
+            Files.move(spooled.file(), target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(spooled.file(), target);
+        } catch (FileAlreadyExistsException e) {
+            // 같은 내용이 동시에 올라온 경우
+        }
+        return fileName;
+    }
 
-        return fileRepository.save(fileEntity);
+    // 목록/조회는 본문 없이 메타데이터만 읽는다
+    public List<FileMetadata> getAllFiles() {
+        return fileRepository.findAllMetadata();
     }
 
-    public List<FileEntity> getAllFiles() {
-        return fileRepository.findAllOrderByCreatedAtDesc();
+    public Optional<FileMetadata> getFileById(Long id) {
+        return fileRepository.findMetadataById(id);
     }
 
-    public Optional<FileEntity> getFileById(Long id) {
-        return fileRepository.findById(id);
+    public Optional<FileMetadata> getFileByName(String fileName) {
+        return fileRepository.findMetadataByFileName(fileName).stream().findFirst();
     }
 
-    public Optional<FileEntity> getFileByName(String fileName) {
-        return fileRepository.findByFileName(fileName);
+    public List<FileMetadata> searchFiles(String fileName) {
+        return fileRepository.findMetadataByFileNameContaining(fileName);
     }
 
-    public List<FileEntity> searchFiles(String fileName) {
-        return fileRepository.findByFileNameContaining(fileName);
+    /**
+     * 파일 본문의 blob 경로. BlobStore 로 옮기기 전에 저장된 행은 이때 본문을 옮기고 content 컬럼을 비운다.
+     * (행은 blob 해시 락 안에서 바로 커밋되어야 하므로 메서드 전체를 트랜잭션으로 묶지 않는다)
+     */
+    public Optional<Path> getFileContentPath(Long id) throws IOException {
+        Optional<FileMetadata> metadata = fileRepository.findMetadataById(id);
+        if (metadata.isEmpty()) {
+            return Optional.empty();
+        }
+        String hash = metadata.get().getContentHash();
+        if (hash == null) {
+            FileEntity entity = fileRepository.findById(id).orElseThrow();
+            if (entity.getContent() == null) {
+                return Optional.empty();
+            }
+            hash = blobStore.put(new ByteArrayInputStream(entity.getContent().getBytes(StandardCharsets.UTF_8)), blob -> {
+                entity.setContentHash(blob.hash());
+                entity.setContent(null);
+                fileRepository.save(entity);
+                return blob.hash();
+            });
+            log.info("파일 {} 본문을 blob 저장소로 옮김: {}", id, hash);
+        }
+        Path path = blobStore.path(hash);
+        return Files.exists(path) ? Optional.of(path) : Optional.empty();
     }
 
     public void deleteFile(Long id) {
+        Optional<FileMetadata> metadata = fileRepository.findMetadataById(id);
         fileRepository.deleteById(id);
+        metadata.ifPresent(file -> releaseBlob(file.getContentHash()));
+    }
+
+    // 더 이상 어떤 행도 참조하지 않는 blob 을 지운다 (참조 확인과 삭제는 blob 해시 락 안에서)
+    private void releaseBlob(String hash) {
+        if (hash == null) return;
+        try {
+            blobStore.release(hash, () -> fileRepository.countByContentHash(hash) > 0);
+        } catch (IOException e) {
+            log.warn("blob 삭제 실패 {}: {}", hash, e.getMessage());
+        }
     }
 
     // JSONL 파일을 파싱하여 RawRssItem 테이블에 저장
-    public int saveJsonlToRawRssItem(String fileName) throws IOException {
+    // 압축을 풀며 한 줄씩 읽어 한 건씩 save() 한다 (배치 적재와 비교용)
+    public IngestStats saveJsonlToRawRssItem(String fileName) throws IOException {
         Path filePath = dataDirectory.resolve(fileName).normalize();
         if (!Files.exists(filePath)) {
             throw new IOException("File not found: " + filePath);
         }
-        int savedCount = 0;
-        List<String> lines = Files.readAllLines(filePath, StandardCharsets.UTF_8);
-        for (String line : lines) {
-            if (line.isBlank()) continue;
-            try {
-                JsonNode node = objectMapper.readTree(line);
-                RawRssItem item = RawRssItem.builder()
-                        .guid(node.path("guid").asText(null))
-                        .source(node.path("source").asText(null))
-                        .title(node.path("title").asText(null))
-                        .link(node.path("link").asText(null))
-                        .pubDate(parseDateTime(node.path("pub_date").asText(null)))
-                        .updated(parseDateTime(node.path("updated").asText(null)))
-                        .dcCreator(node.path("dc_creator").asText(null))
-                        .description(node.path("description").asText(null))
-                        .contentEncoded(node.path("content_encoded").asText(null))
-                        .dcSubject(node.path("dc_subject").asText(null))
-                        .copyright(node.path("copyright").asText(null))
-                        .collectedAt(parseDateTime(node.path("collected_at").asText(null)))
-                        .rawXml(node.path("raw_xml").asText(null))
-                        .build();
-                if (item.getGuid() != null) {
-                    rawRssItemRepository.save(item);
-                    savedCount++;
+        IngestStats stats = deadLetterStore.attach(new IngestStats(fileName, "legacy"), IngestTarget.RAW_RSS_ITEM);
+        try (JsonlLineReader reader = new JsonlLineReader(JsonlCompression.of(filePath).open(filePath))) {
+            while (reader.next()) {
+                stats.lineRead();
+                String line = reader.line();
+                if (line.isBlank()) continue;
+                try {
+                    JsonNode node = objectMapper.readTree(line);
+                    RawRssItem item = RawRssItem.builder()
+                            .guid(node.path("guid").asText(null))
+                            .source(node.path("source").asText(null))
+                            .title(node.path("title").asText(null))
+                            .link(node.path("link").asText(null))
+                            .pubDate(RssJsonlRecord.parseDateTime(node.path("pub_date").asText(null)))
+                            .updated(RssJsonlRecord.parseDateTime(node.path("updated").asText(null)))
+                            .dcCreator(node.path("dc_creator").asText(null))
+                            .description(node.path("description").asText(null))
+                            .contentEncoded(node.path("content_encoded").asText(null))
+                            .dcSubject(node.path("dc_subject").asText(null))
+                            .copyright(node.path("copyright").asText(null))
+                            .collectedAt(RssJsonlRecord.parseDateTime(node.path("collected_at").asText(null)))
+                            .rawXml(node.path("raw_xml").asText(null))
+                            .build();
+                    if (item.getGuid() != null) {
+                        rawRssItemRepository.save(item);
+                        stats.rowsWritten(1);
+                    }
+                } catch (Exception e) {
+                    // 개별 라인 에러는 dead-letter 파일에 남기고 계속 진행
+                    stats.rejected(reader.lineNumber(), reader.lineOffset(), line, e);
                 }
-            } catch (Exception e) {
-                // 개별 라인 에러 무시, 로그만 남김
-                System.err.println("[WARN] JSONL 라인 파싱/저장 실패: " + e.getMessage());
             }
+            stats.bytesRead(reader.position());
+        } finally {
+            stats.finish();
         }
-        return savedCount;
+        eventPublisher.publishEvent(new RawRssItemsChangedEvent(stats.getRowsWritten()));
+        log.info("JSONL 적재 완료 {}", stats);
+        return stats;
     }
 
-    private LocalDateTime parseDateTime(String value) {
-        if (value == null || value.isBlank()) return null;
-        try {
-            return LocalDateTime.parse(value, DateTimeFormatter.ISO_DATE_TIME);
-        } catch (DateTimeParseException e) {
-            // 다른 포맷 시도 가능
-            return null;
+    // JSONL 파일을 한 줄씩 스트리밍으로 읽어 RawRssItem 테이블에 저장
+    // reader/parser/writer 파이프라인으로 처리하며, 파일 크기와 관계없이 큐에 든 청크만 메모리에 유지한다.
+    // 마지막으로 적재한 위치(체크포인트)부터 이어서 읽으므로, 다시 호출하면 새로 추가된 줄만 적재한다.
+    public IngestStats streamJsonlToRawRssItem(String fileName, boolean fromStart) throws IOException {
+        return streamJsonlToRawRssItem(fileName, new IngestStats(fileName, "streaming"), fromStart);
+    }
+
+    public IngestStats streamJsonlToRawRssItem(String fileName, IngestStats stats, boolean fromStart) throws IOException {
+        Path filePath = resolveDataFile(fileName);
+        try (IngestCheckpointService.Session session =
+                     checkpointService.open(fileName, IngestTarget.RAW_RSS_ITEM, filePath, fromStart)) {
+            stats.resumedFrom(session.startOffset());
+            deadLetterStore.attach(stats, IngestTarget.RAW_RSS_ITEM);
+
+            ingestPipeline.run(session.reader(), stats,
+                    line -> {
+                        RawRssItem item = parseRawRssItem(line);
+                        return item.getGuid() != null ? item : null;
+                    },
+                    batchWriter::writeRawRssItems, session);
         }
+
+        log.info("JSONL 적재 완료 {}", stats);
+        return stats;
+    }
+
+    // JSON 한 줄을 스트리밍 파서로 읽어 RawRssItem 으로 변환 (필드 매핑은 RssJsonlRecord 한 곳에서 관리)
+    public RawRssItem parseRawRssItem(String line) throws IOException {
+        return RssJsonlRecord.parse(line).toRawRssItem();
     }
 }
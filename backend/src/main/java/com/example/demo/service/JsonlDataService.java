@@ -1,95 +1,147 @@
 package com.example.demo.service;
 
 import com.example.demo.entity.JsonlData;
+import com.example.demo.ingest.DeadLetterStore;
+import com.example.demo.ingest.IngestBatchWriter;
+import com.example.demo.ingest.IngestCheckpointService;
+import com.example.demo.ingest.IngestPipeline;
+import com.example.demo.ingest.IngestStats;
+import com.example.demo.ingest.IngestTarget;
+import com.example.demo.ingest.JsonlGuidFilter;
+import com.example.demo.ingest.JsonlLineReader;
+import com.example.demo.ingest.JsonlRecordMapper;
 import com.example.demo.repository.jpa.JsonlDataRepository;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
 
 @Service
 public class JsonlDataService {
 
+    private static final Logger log = LoggerFactory.getLogger(JsonlDataService.class);
+
     @Autowired
     private JsonlDataRepository jsonlDataRepository;
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    @Autowired
+    private IngestBatchWriter batchWriter;
 
-    /**
-     * JSONL 파일 내용을 DB에 저장
-     */
-    @Transactional
-    public int saveJsonlData(String jsonlContent) throws IOException {
-        String[] lines = jsonlContent.split("\n");
-        int savedCount = 0;
-        int duplicateCount = 0;
+    @Autowired
+    private JsonlGuidFilter guidFilter;
 
-        for (String line : lines) {
-            if (line.trim().isEmpty()) continue;
+    @Autowired
+    private IngestPipeline ingestPipeline;
 
-            try {
-                JsonNode jsonNode = objectMapper.readTree(line);
+    @Autowired
+    private IngestCheckpointService checkpointService;
 
-                // GUID로 중복 체크
-                String guid = jsonNode.has("guid") ? jsonNode.get("guid").asText() : null;
-                if (guid != null && jsonlDataRepository.findByGuid(guid).isPresent()) {
-                    duplicateCount++;
-                    continue;
-                }
+    @Autowired
+    private DeadLetterStore deadLetterStore;
+
+    // JSONL 필드 → JsonlData 컬럼 매핑 (tags 배열은 ", " 로 이어 붙인다)
+    private static final JsonlRecordMapper<JsonlData> JSONL_DATA_MAPPER = JsonlRecordMapper.builder(JsonlData::new)
+            .text("guid", JsonlData::setGuid)
+            .text("source", JsonlData::setSource)
+            .text("title", JsonlData::setTitle)
+            .text("link", JsonlData::setLink)
+            .text("pub_date", JsonlData::setPubDate)
+            .text("description", JsonlData::setDescription)
+            .text("author", JsonlData::setAuthor)
+            .text("category", JsonlData::setCategory)
+            .joinedText("tags", ", ", JsonlData::setTags)
+            .text("group", JsonlData::setGroupName)
+            .text("scraped_at", JsonlData::setScrapedAt)
+            .build();
 
-                JsonlData jsonlData = new JsonlData();
-
-                // 각 필드 매핑
-                jsonlData.setGuid(guid);
-                jsonlData.setSource(getTextValue(jsonNode, "source"));
-                jsonlData.setTitle(getTextValue(jsonNode, "title"));
-                jsonlData.setLink(getTextValue(jsonNode, "link"));
-                jsonlData.setPubDate(getTextValue(jsonNode, "pub_date"));
-                jsonlData.setDescription(getTextValue(jsonNode, "description"));
-                jsonlData.setAuthor(getTextValue(jsonNode, "author"));
-                jsonlData.setCategory(getTextValue(jsonNode, "category"));
-
-                // tags 배열을 문자열로 변환
-                if (jsonNode.has("tags") && jsonNode.get("tags").isArray()) {
-                    StringBuilder tagsBuilder = new StringBuilder();
-                    jsonNode.get("tags").forEach(tag -> {
-                        if (tagsBuilder.length() > 0) tagsBuilder.append(", ");
-                        tagsBuilder.append(tag.asText());
-                    });
-                    jsonlData.setTags(tagsBuilder.toString());
-                } else {
-                    jsonlData.setTags(getTextValue(jsonNode, "tags"));
-                }
+    /**
+     * JSONL 파일 내용을 DB에 저장
+     */
+    public int saveJsonlData(String jsonlContent) throws IOException {
+        JsonlLineReader reader = new JsonlLineReader(
+                new ByteArrayInputStream(jsonlContent.getBytes(StandardCharsets.UTF_8)));
+        IngestStats stats = deadLetterStore.attach(new IngestStats("(content)", "batch"), IngestTarget.JSONL_DATA);
+        ingestPipeline.run(reader, stats, this::parseJsonlData, this::writeChunk);
+        log.info("JSONL 적재 완료 {}", stats);
+        return (int) stats.getRowsWritten();
+    }
 
-                jsonlData.setGroupName(getTextValue(jsonNode, "group"));
-                jsonlData.setScrapedAt(getTextValue(jsonNode, "scraped_at"));
+    /**
+     * JSONL 파일을 스트리밍으로 읽어 DB에 저장.
+     * 마지막으로 적재한 위치(체크포인트)부터 이어서 읽으므로, 다시 호출하면 새로 추가된 줄만 적재한다.
+     *
+     * @param fromStart true 면 체크포인트를 무시하고 처음부터 읽는다
+     */
+    public IngestStats saveJsonlData(Path filePath, boolean fromStart) throws IOException {
+        return saveJsonlData(filePath, new IngestStats(filePath.getFileName().toString(), "batch"), fromStart);
+    }
 
-                jsonlDataRepository.save(jsonlData);
-                savedCount++;
+    /**
+     * reader/parser/writer 파이프라인으로 파싱과 저장을 병렬 처리한다.
+     * guid 중복은 청크마다 한 번의 IN 조회로 확인하고, 청크마다 커밋한다.
+     */
+    public IngestStats saveJsonlData(Path filePath, IngestStats stats, boolean fromStart) throws IOException {
+        try (IngestCheckpointService.Session session = checkpointService.open(
+                filePath.getFileName().toString(), IngestTarget.JSONL_DATA, filePath, fromStart)) {
+            stats.resumedFrom(session.startOffset());
+            deadLetterStore.attach(stats, IngestTarget.JSONL_DATA);
 
-            } catch (Exception e) {
-                System.err.println("라인 파싱 오류: " + line);
-                e.printStackTrace();
-            }
+            ingestPipeline.run(session.reader(), stats, this::parseJsonlData, this::writeChunk, session);
         }
+        log.info("JSONL 적재 완료 {}", stats);
+        return stats;
+    }
 
-        System.out.println("저장된 레코드 수: " + savedCount + ", 중복 건수: " + duplicateCount);
-        return savedCount;
+    public JsonlData parseJsonlData(String line) throws IOException {
+        return JSONL_DATA_MAPPER.map(line);
     }
 
     /**
-     * JsonNode에서 텍스트 값을 안전하게 가져오는 헬퍼 메서드
+     * 청크 안의 중복을 먼저 제거하고, Bloom filter 로 확실히 새로운 guid 는 걸러낸 뒤
+     * 나머지만 한 번의 IN 조회로 저장된 content_hash 를 가져온다.
+     * 새 guid 는 INSERT, 내용이 바뀐 guid 는 UPDATE 하고, 내용이 같으면 쓰지 않는다.
      */
-    private String getTextValue(JsonNode node, String fieldName) {
-        return node.has(fieldName) && !node.get(fieldName).isNull()
-            ? node.get(fieldName).asText()
-            : null;
+    public void writeChunk(List<JsonlData> parsed, IngestStats stats) {
+        Map<String, JsonlData> chunk = new LinkedHashMap<>();
+        List<JsonlData> inserts = new ArrayList<>(parsed.size());
+        for (JsonlData data : parsed) {
+            data.setContentHash(data.computeContentHash());
+            if (data.getGuid() == null) {
+                inserts.add(data);
+            } else if (chunk.put(data.getGuid(), data) != null) {
+                // 같은 청크 안에서는 나중에 나온 줄이 우선
+                stats.duplicates(1);
+            }
+        }
+
+        List<String> candidates = chunk.keySet().stream()
+                .filter(guidFilter::mightContain)
+                .toList();
+        List<JsonlData> updates = new ArrayList<>();
+        if (!candidates.isEmpty()) {
+            for (Object[] stored : jsonlDataRepository.findContentHashes(candidates)) {
+                JsonlData data = chunk.remove((String) stored[0]);
+                if (data == null) continue;
+                if (data.getContentHash().equals(stored[1])) {
+                    stats.unchanged(1);
+                } else {
+                    updates.add(data);
+                }
+            }
+        }
+
+        inserts.addAll(chunk.values());
+        batchWriter.writeJsonlData(inserts, stats);
+        batchWriter.updateJsonlData(updates, stats);
+        guidFilter.putAll(chunk.keySet());
     }
 
     /**
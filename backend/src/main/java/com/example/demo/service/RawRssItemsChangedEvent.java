@@ -0,0 +1,9 @@
+package com.example.demo.service;
+
+/**
+ * raw_rss_item 에 행을 저장하거나 삭제한 뒤 발행하는 이벤트.
+ *
+ * @param rows 바뀐 행 수 (알 수 없으면 0)
+ */
+public record RawRssItemsChangedEvent(long rows) {
+}
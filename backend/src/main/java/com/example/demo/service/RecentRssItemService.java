@@ -0,0 +1,127 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.RssItemSummary;
+import com.example.demo.entity.RawRssItem;
+import com.example.demo.repository.jpa.RawRssItemRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 최근 수집된 RSS 아이템을 메모리에 들고 있다가 /api/rss-items/recent 에 DB 조회 없이 응답한다.
+ * raw_rss_item 이 바뀌면({@link RawRssItemsChangedEvent}) 커밋 뒤 (collected_at, guid) 인덱스로 상위 N건을 다시 읽어 통째로 바꾼다.
+ * 항목은 RawRssItem 과 같은 JSON 모양의 가벼운 사본으로, description 과 author/category 까지 담고
+ * content_encoded, raw_xml 은 비워 둔다 (전체 본문은 /api/rss-items/{guid}).
+ * 커서 목록과 같은 조회를 쓰므로 collected_at 이 NULL 인 행은 들어가지 않는다.
+ * 적재 중에는 청크마다 이벤트가 오므로 refresh-delay-ms 동안 모아서 한 번만 읽는다.
+ */
+@Service
+public class RecentRssItemService implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(RecentRssItemService.class);
+    // 최근 목록에 담는 무거운 필드 (content_encoded, raw_xml 은 읽지 않는다)
+    private static final Set<String> FIELDS = Set.of("description", "author", "category");
+
+    private final RawRssItemRepository repository;
+    private final int capacity;
+    private final long refreshDelayMillis;
+    private final ScheduledExecutorService executor;
+    private final AtomicBoolean refreshPending = new AtomicBoolean();
+
+    // null 이면 아직 읽지 못한 상태
+    private volatile List<RawRssItem> recent;
+
+    public RecentRssItemService(RawRssItemRepository repository,
+                                @Value("${rss.recent.capacity:100}") int capacity,
+                                @Value("${rss.recent.refresh-delay-ms:500}") long refreshDelayMillis) {
+        this.repository = repository;
+        this.capacity = Math.max(1, capacity);
+        this.refreshDelayMillis = Math.max(0, refreshDelayMillis);
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "recent-rss-items");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        executor.execute(this::refresh);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRawRssItemsChanged(RawRssItemsChangedEvent event) {
+        if (refreshPending.compareAndSet(false, true)) {
+            executor.schedule(() -> {
+                // 읽는 동안 들어온 변경은 다음 refresh 로 넘긴다
+                refreshPending.set(false);
+                refresh();
+            }, refreshDelayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 수집 시각 최신순 limit 건. capacity 이하면 메모리에서, 넘으면 DB 에서 읽는다.
+     */
+    public List<RawRssItem> getRecent(int limit) {
+        int count = Math.max(1, limit);
+        List<RawRssItem> snapshot = recent;
+        if (snapshot != null && count <= capacity) {
+            return snapshot.subList(0, Math.min(count, snapshot.size()));
+        }
+        return load(count);
+    }
+
+    private List<RawRssItem> load(int count) {
+        return repository.findSummaries(null, count, FIELDS).stream()
+                .map(RecentRssItemService::toItem)
+                .toList();
+    }
+
+    private static RawRssItem toItem(RssItemSummary summary) {
+        return RawRssItem.builder()
+                .guid(summary.getGuid())
+                .source(summary.getSource())
+                .title(summary.getTitle())
+                .link(summary.getLink())
+                .pubDate(summary.getPubDate())
+                .updated(summary.getUpdated())
+                .dcCreator(summary.getDcCreator())
+                .author(summary.getAuthor())
+                .description(summary.getDescription())
+                .category(summary.getCategory())
+                .dcSubject(summary.getDcSubject())
+                .collectedAt(summary.getCollectedAt())
+                .comments(summary.getComments())
+                .language(summary.getLanguage())
+                .copyright(summary.getCopyright())
+                .processed(summary.getProcessed())
+                .errorMessage(summary.getErrorMessage())
+                .build();
+    }
+
+    private void refresh() {
+        try {
+            recent = load(capacity);
+        } catch (RuntimeException e) {
+            log.warn("최근 RSS 아이템 조회 실패, 이전 목록을 유지합니다: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.demo.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 로컬 디스크의 내용 주소 기반(content-addressed) 저장소.
+ * 파일 본문을 SHA-256 해시 이름으로 한 번만 저장하므로 같은 내용을 다시 올려도 복사본이 늘지 않는다.
+ * 경로는 {storage.blob-directory}/{해시 앞 2자리}/{해시} 이다.
+ * 같은 해시의 저장(+참조 행 저장)과 해제(참조 확인+삭제)는 해시별 락으로 직렬화하여,
+ * 한쪽이 이미 있는 blob 을 재사용하는 사이에 다른 쪽이 그 blob 을 지우는 일이 없게 한다.
+ */
+@Service
+public class BlobStore {
+
+    private static final Logger log = LoggerFactory.getLogger(BlobStore.class);
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final Path directory;
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+
+    public BlobStore(@Value("${storage.blob-directory:blobs}") String directory) {
+        this.directory = Paths.get(directory).toAbsolutePath().normalize();
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /** 저장한 본문의 해시와 크기 */
+    public record Blob(String hash, long size) {
+    }
+
+    /** blob 을 참조하는 쪽(DB 행 등)을 저장한다. 해시 락을 잡은 채로 실행된다 */
+    @FunctionalInterface
+    public interface Reference<T> {
+        T save(Blob blob) throws IOException;
+    }
+
+    /**
+     * 스트림을 임시 파일에 쓰면서 해시를 계산하고, 같은 해시가 없을 때만 저장소로 옮긴 뒤 reference 를 저장한다.
+     * reference 는 커밋까지 마쳐야 같은 해시의 {@link #release} 가 참조를 볼 수 있다.
+     */
+    public <T> T put(InputStream in, Reference<T> reference) throws IOException {
+        Path temp = createTempFile();
+        try {
+            MessageDigest digest = sha256();
+            long size;
+            try (OutputStream out = new DigestOutputStream(Files.newOutputStream(temp), digest)) {
+                size = in.transferTo(out);
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            return storeAndSave(temp, new Blob(hash, size), reference);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * 해시를 이미 계산한 파일(업로드 스풀 등)을 저장소로 옮긴 뒤 reference 를 저장한다. 같은 해시가 있으면 file 은 지운다.
+     */
+    public <T> T move(Path file, String hash, Reference<T> reference) throws IOException {
+        Blob blob = new Blob(hash, Files.size(file));
+        try {
+            return storeAndSave(file, blob, reference);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * 참조가 남아 있지 않으면 blob 을 지운다. 확인과 삭제 사이에 같은 해시의 저장이 끼어들지 않는다.
+     *
+     * @param referenced 커밋된 참조가 남아 있는지 (예: 그 해시를 가진 행 수 > 0)
+     * @return 지웠으면 true
+     */
+    public boolean release(String hash, BooleanSupplier referenced) throws IOException {
+        ReentrantLock lock = lockFor(hash);
+        lock.lock();
+        try {
+            return !referenced.getAsBoolean() && Files.deleteIfExists(path(hash));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private <T> T storeAndSave(Path file, Blob blob, Reference<T> reference) throws IOException {
+        ReentrantLock lock = lockFor(blob.hash());
+        lock.lock();
+        try {
+            store(file, blob.hash());
+            return reference.save(blob);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ReentrantLock lockFor(String hash) {
+        path(hash); // 해시 형식 확인
+        // 해시는 고르게 퍼져 있으므로 앞 두 자리로 충분하다
+        return locks[Integer.parseInt(hash, 0, 2, 16) % LOCK_STRIPES];
+    }
+
+    private void store(Path file, String hash) throws IOException {
+        Path target = path(hash);
+        if (Files.exists(target)) {
+            log.debug("같은 내용의 blob 이 이미 있음: {}", hash);
+            return;
+        }
+        Files.createDirectories(target.getParent());
+        try {
+            try {
+                Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                // 다른 파일 시스템의 파일은 저장소 안으로 먼저 복사한 뒤 원자적으로 이름을 바꾼다
+                Path copy = createTempFile();
+                try {
+                    Files.copy(file, copy, StandardCopyOption.REPLACE_EXISTING);
+                    Files.move(copy, target, StandardCopyOption.ATOMIC_MOVE);
+                } finally {
+                    Files.deleteIfExists(copy);
+                }
+            }
+        } catch (FileAlreadyExistsException e) {
+            // 같은 내용을 동시에 저장한 경우
+            log.debug("같은 내용의 blob 이 이미 있음: {}", hash);
+        }
+    }
+
+    /** 해시에 해당하는 blob 파일 경로 (존재 여부는 확인하지 않는다) */
+    public Path path(String hash) {
+        if (hash == null || !hash.matches("[0-9a-f]{64}")) {
+            throw new IllegalArgumentException("invalid blob hash: " + hash);
+        }
+        return directory.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    public boolean exists(String hash) {
+        return Files.exists(path(hash));
+    }
+
+    public InputStream open(String hash) throws IOException {
+        return Files.newInputStream(path(hash));
+    }
+
+    /** 저장소와 같은 파일 시스템의 임시 파일 (원자적 이동을 위해) */
+    public Path createTempFile() throws IOException {
+        Path tempDirectory = directory.resolve("tmp");
+        Files.createDirectories(tempDirectory);
+        return Files.createTempFile(tempDirectory, "blob", ".tmp");
+    }
+
+    public static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
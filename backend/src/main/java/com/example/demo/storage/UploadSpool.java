@@ -0,0 +1,78 @@
+package com.example.demo.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+/**
+ * 업로드 파일을 스풀 디렉토리로 옮기고 SHA-256 을 계산한다.
+ * 서블릿 컨테이너가 이미 디스크에 받아 둔 파트는 transferTo 로 이름만 바꾸고(같은 파일 시스템일 때) 읽기만 한 번 하므로,
+ * 본문을 다시 복사하지 않는다. 크기 제한은 복사 전에 파트 크기로 확인한다.
+ */
+@Service
+public class UploadSpool {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path directory;
+    private final long maxBytes;
+
+    public UploadSpool(@Value("${storage.upload.spool-directory:spool}") String directory,
+                       @Value("${storage.upload.max-bytes:1073741824}") long maxBytes) {
+        this.directory = Paths.get(directory).toAbsolutePath().normalize();
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * 스풀된 업로드. 다른 곳으로 옮기지 않았으면 close 할 때 지운다.
+     */
+    public record Spooled(Path file, String hash, long size, String originalFilename) implements AutoCloseable {
+        @Override
+        public void close() throws IOException {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * @throws UploadTooLargeException 크기 제한을 넘은 경우
+     */
+    public Spooled spool(MultipartFile upload) throws IOException {
+        if (upload.getSize() > maxBytes) {
+            throw new UploadTooLargeException(maxBytes);
+        }
+        Files.createDirectories(directory);
+        Path file = Files.createTempFile(directory, "upload", ".spool");
+        try {
+            // transferTo(File) 는 컨테이너의 임시 파일을 옮기고, transferTo(Path) 는 스트림으로 복사하므로 File 을 넘긴다
+            upload.transferTo(file.toFile());
+            long size = Files.size(file);
+            if (size > maxBytes) {
+                throw new UploadTooLargeException(maxBytes);
+            }
+            return new Spooled(file, sha256(file), size, upload.getOriginalFilename());
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+    }
+
+    private static String sha256(Path file) throws IOException {
+        MessageDigest digest = BlobStore.sha256();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
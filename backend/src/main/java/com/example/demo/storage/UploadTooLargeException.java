@@ -0,0 +1,13 @@
+package com.example.demo.storage;
+
+import java.io.IOException;
+
+/**
+ * 업로드가 storage.upload.max-bytes 를 넘은 경우.
+ */
+public class UploadTooLargeException extends IOException {
+
+    public UploadTooLargeException(long maxBytes) {
+        super("업로드 파일이 최대 크기(" + maxBytes + " bytes)를 넘었습니다.");
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.demo.datafile;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileRangeServiceTest {
+
+    private static final long MODIFIED = 1_700_000_000_000L;
+
+    private final FileRangeService service = new FileRangeService();
+
+    @TempDir
+    Path dir;
+
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = Files.writeString(dir.resolve("data.jsonl"), "0123456789");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(MODIFIED));
+    }
+
+    private MockHttpServletResponse send(MockHttpServletRequest request) throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        service.send(file, "application/x-ndjson", "data.jsonl", request, response);
+        return response;
+    }
+
+    private static MockHttpServletRequest range(String range) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader("Range", range);
+        return request;
+    }
+
+    private static String body(MockHttpServletResponse response) {
+        return new String(response.getContentAsByteArray(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void sendsWholeFileWithoutRange() throws IOException {
+        MockHttpServletResponse response = send(new MockHttpServletRequest("GET", "/"));
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(body(response)).isEqualTo("0123456789");
+        assertThat(response.getHeader("Accept-Ranges")).isEqualTo("bytes");
+        assertThat(response.getHeader("ETag")).isEqualTo(FileRangeService.etag(10, MODIFIED));
+    }
+
+    @Test
+    void sendsSingleRange() throws IOException {
+        MockHttpServletResponse response = send(range("bytes=2-5"));
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getHeader("Content-Range")).isEqualTo("bytes 2-5/10");
+        assertThat(response.getContentLengthLong()).isEqualTo(4);
+        assertThat(body(response)).isEqualTo("2345");
+    }
+
+    @Test
+    void sendsSuffixAndOpenEndedRanges() throws IOException {
+        MockHttpServletResponse suffix = send(range("bytes=-3"));
+        assertThat(suffix.getHeader("Content-Range")).isEqualTo("bytes 7-9/10");
+        assertThat(body(suffix)).isEqualTo("789");
+
+        MockHttpServletResponse openEnded = send(range("bytes=7-"));
+        assertThat(openEnded.getHeader("Content-Range")).isEqualTo("bytes 7-9/10");
+        assertThat(body(openEnded)).isEqualTo("789");
+
+        // 끝이 파일 크기를 넘으면 파일 끝까지 보낸다
+        MockHttpServletResponse clipped = send(range("bytes=8-100"));
+        assertThat(clipped.getHeader("Content-Range")).isEqualTo("bytes 8-9/10");
+    }
+
+    @Test
+    void rejectsRangeBeyondEnd() throws IOException {
+        MockHttpServletResponse response = send(range("bytes=20-"));
+
+        assertThat(response.getStatus()).isEqualTo(416);
+        assertThat(response.getHeader("Content-Range")).isEqualTo("bytes */10");
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void sendsWholeFileForMultipleOrMalformedRanges() throws IOException {
+        MockHttpServletResponse multiple = send(range("bytes=0-1,4-5"));
+        assertThat(multiple.getStatus()).isEqualTo(200);
+        assertThat(body(multiple)).isEqualTo("0123456789");
+
+        MockHttpServletResponse malformed = send(range("lines=1-2"));
+        assertThat(malformed.getStatus()).isEqualTo(200);
+        assertThat(body(malformed)).isEqualTo("0123456789");
+    }
+
+    @Test
+    void ignoresRangeWhenIfRangeDoesNotMatch() throws IOException {
+        MockHttpServletRequest stale = range("bytes=2-5");
+        stale.addHeader("If-Range", "\"old\"");
+        assertThat(send(stale).getStatus()).isEqualTo(200);
+
+        MockHttpServletRequest current = range("bytes=2-5");
+        current.addHeader("If-Range", FileRangeService.etag(10, MODIFIED));
+        assertThat(send(current).getStatus()).isEqualTo(206);
+    }
+
+    @Test
+    void answersNotModifiedForMatchingEtag() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader("If-None-Match", "\"other\", " + FileRangeService.etag(10, MODIFIED));
+
+        MockHttpServletResponse response = send(request);
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void headSendsHeadersOnly() throws IOException {
+        MockHttpServletResponse response = send(new MockHttpServletRequest("HEAD", "/"));
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentLengthLong()).isEqualTo(10);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+}
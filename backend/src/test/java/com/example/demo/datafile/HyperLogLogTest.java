@@ -0,0 +1,75 @@
+package com.example.demo.datafile;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HyperLogLogTest {
+
+    // splitmix64: 연속된 정수를 고르게 섞인 64비트 해시로 만든다
+    private static long hash(long value) {
+        long z = value + 0x9e3779b97f4a7c15L;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    @Test
+    void estimatesDistinctCountWithinExpectedError() {
+        HyperLogLog hll = new HyperLogLog(12);
+        for (long i = 0; i < 100_000; i++) {
+            hll.offer(hash(i));
+        }
+        assertThat(hll.estimate()).isBetween(95_000L, 105_000L);
+    }
+
+    @Test
+    void smallCountsAreNearlyExact() {
+        HyperLogLog hll = new HyperLogLog(12);
+        for (long i = 0; i < 100; i++) {
+            hll.offer(hash(i));
+        }
+        assertThat(hll.estimate()).isBetween(95L, 105L);
+        assertThat(new HyperLogLog(12).estimate()).isZero();
+    }
+
+    @Test
+    void duplicatesDoNotChangeEstimate() {
+        HyperLogLog hll = new HyperLogLog(12);
+        for (long i = 0; i < 10_000; i++) {
+            hll.offer(hash(i));
+        }
+        long estimate = hll.estimate();
+        for (long i = 0; i < 10_000; i++) {
+            hll.offer(hash(i));
+        }
+        assertThat(hll.estimate()).isEqualTo(estimate);
+    }
+
+    @Test
+    void mergeEqualsSingleSketchOverBothInputs() {
+        HyperLogLog whole = new HyperLogLog(12);
+        HyperLogLog first = new HyperLogLog(12);
+        HyperLogLog second = new HyperLogLog(12);
+        for (long i = 0; i < 50_000; i++) {
+            whole.offer(hash(i));
+            (i % 2 == 0 ? first : second).offer(hash(i));
+        }
+
+        HyperLogLog merged = first.copy();
+        merged.merge(second);
+
+        assertThat(merged.estimate()).isEqualTo(whole.estimate());
+        // copy 는 원본과 독립적이다
+        assertThat(first.estimate()).isLessThan(merged.estimate());
+    }
+
+    @Test
+    void rejectsInvalidPrecision() {
+        assertThatThrownBy(() -> new HyperLogLog(3)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new HyperLogLog(19)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new HyperLogLog(12).merge(new HyperLogLog(10)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.demo.datafile;
+
+import com.example.demo.datafile.JsonlPredicate.Op;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JsonlPredicateTest {
+
+    private static boolean text(JsonlPredicate predicate, String value) {
+        return predicate.test(value, false, 0);
+    }
+
+    private static boolean number(JsonlPredicate predicate, double value) {
+        return predicate.test(String.valueOf(value), true, value);
+    }
+
+    @Test
+    void parsesOperatorAliases() {
+        assertThat(Op.of("=")).isEqualTo(Op.EQ);
+        assertThat(Op.of(" NE ")).isEqualTo(Op.NE);
+        assertThat(Op.of("!=")).isEqualTo(Op.NE);
+        assertThat(Op.of("prefix")).isEqualTo(Op.STARTS_WITH);
+        assertThat(Op.of("starts_with")).isEqualTo(Op.STARTS_WITH);
+        assertThat(Op.of(">=")).isEqualTo(Op.GTE);
+        assertThat(Op.of("<")).isEqualTo(Op.LT);
+        assertThatThrownBy(() -> Op.of("like")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Op.of(null)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void comparesNumbersNumericallyAndTextLexically() {
+        JsonlPredicate gt = new JsonlPredicate("views", Op.GT, 9);
+
+        assertThat(number(gt, 10)).isTrue();
+        assertThat(number(gt, 9)).isFalse();
+        // 문자열 필드는 문자열로 비교한다 ("10" < "9")
+        assertThat(text(gt, "10")).isFalse();
+        assertThat(number(new JsonlPredicate("views", Op.EQ, "10"), 10.0)).isTrue();
+    }
+
+    @Test
+    void comparesIsoDatesAsText() {
+        JsonlPredicate since = new JsonlPredicate("pub_date", Op.GTE, "2024-01-01");
+
+        assertThat(text(since, "2024-03-05T10:00:00")).isTrue();
+        assertThat(text(since, "2023-12-31T23:59:59")).isFalse();
+        assertThat(text(new JsonlPredicate("pub_date", Op.LT, "2024-01-01"), "2023-12-31")).isTrue();
+        assertThat(text(new JsonlPredicate("pub_date", Op.LTE, "2024-01-01"), "2024-01-01")).isTrue();
+    }
+
+    @Test
+    void matchesTextOperators() {
+        assertThat(text(new JsonlPredicate("source", Op.EQ, "bbc"), "bbc")).isTrue();
+        assertThat(text(new JsonlPredicate("source", Op.NE, "bbc"), "cnn")).isTrue();
+        assertThat(text(new JsonlPredicate("title", Op.CONTAINS, "AI"), "new ai model")).isTrue();
+        assertThat(text(new JsonlPredicate("title", Op.CONTAINS, "robot"), "new ai model")).isFalse();
+        assertThat(text(new JsonlPredicate("link", Op.STARTS_WITH, "https://"), "https://a")).isTrue();
+        assertThat(text(new JsonlPredicate("link", Op.STARTS_WITH, "https://"), "http://a")).isFalse();
+    }
+
+    @Test
+    void textSearchIgnoresCaseButComparisonsDoNot() {
+        assertThat(text(new JsonlPredicate("title", Op.CONTAINS, "ai"), "New AI Model")).isTrue();
+        assertThat(text(new JsonlPredicate("source", Op.STARTS_WITH, "bb"), "BBC News")).isTrue();
+        assertThat(text(new JsonlPredicate("source", Op.STARTS_WITH, "BBC News!"), "BBC News")).isFalse();
+        assertThat(text(new JsonlPredicate("source", Op.EQ, "bbc"), "BBC")).isFalse();
+        assertThat(text(new JsonlPredicate("source", Op.IN, List.of("bbc")), "BBC")).isFalse();
+    }
+
+    @Test
+    void matchesAnyValueOfInList() {
+        JsonlPredicate in = new JsonlPredicate("source", Op.IN, List.of("bbc", "cnn", 3));
+
+        assertThat(text(in, "cnn")).isTrue();
+        assertThat(text(in, "npr")).isFalse();
+        assertThat(number(in, 3)).isTrue();
+    }
+
+    @Test
+    void missingFieldOnlyMatchesNeAndExistsFalse() {
+        assertThat(text(new JsonlPredicate("author", Op.EQ, "x"), null)).isFalse();
+        assertThat(text(new JsonlPredicate("author", Op.NE, "x"), null)).isTrue();
+        assertThat(text(new JsonlPredicate("author", Op.EXISTS, null), null)).isFalse();
+        assertThat(text(new JsonlPredicate("author", Op.EXISTS, null), "a")).isTrue();
+        assertThat(text(new JsonlPredicate("author", Op.EXISTS, false), null)).isTrue();
+        assertThat(text(new JsonlPredicate("author", Op.EXISTS, "false"), "a")).isFalse();
+    }
+
+    @Test
+    void validatesArguments() {
+        assertThatThrownBy(() -> new JsonlPredicate(" ", Op.EQ, "x")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new JsonlPredicate("title", Op.EQ, null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new JsonlPredicate("title", Op.EQ, List.of("a")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
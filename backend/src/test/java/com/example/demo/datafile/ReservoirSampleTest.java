@@ -0,0 +1,78 @@
+package com.example.demo.datafile;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReservoirSampleTest {
+
+    private static ReservoirSample sampleOf(int capacity, String value, int count) {
+        ReservoirSample sample = new ReservoirSample(capacity);
+        for (int i = 0; i < count; i++) {
+            sample.offer(value);
+        }
+        return sample;
+    }
+
+    @Test
+    void keepsEverythingUnderCapacity() {
+        ReservoirSample sample = new ReservoirSample(5);
+        sample.offer("a");
+        sample.offer("b");
+
+        assertThat(sample.getItems()).containsExactly("a", "b");
+    }
+
+    @Test
+    void neverExceedsCapacity() {
+        ReservoirSample sample = new ReservoirSample(5);
+        for (int i = 0; i < 1000; i++) {
+            sample.offer(String.valueOf(i));
+        }
+        assertThat(sample.getItems()).hasSize(5).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void mergeWithEmptySampleKeepsItems() {
+        ReservoirSample sample = sampleOf(3, "a", 10);
+        sample.merge(new ReservoirSample(3));
+
+        assertThat(sample.getItems()).containsExactly("a", "a", "a");
+    }
+
+    @Test
+    void mergeKeepsBothSidesWhenTheyFit() {
+        ReservoirSample sample = sampleOf(10, "a", 2);
+        sample.merge(sampleOf(10, "b", 3));
+
+        assertThat(sample.getItems()).hasSize(5);
+        assertThat(sample.getItems()).filteredOn("b"::equals).hasSize(3);
+    }
+
+    @Test
+    void mergeTakesItemsInProportionToValuesSeen() {
+        // 'a' 900 개와 'b' 100 개를 합친 표본에서 'b' 는 약 10% 여야 한다
+        int trials = 2000;
+        long bCount = 0;
+        for (int t = 0; t < trials; t++) {
+            ReservoirSample sample = sampleOf(10, "a", 900);
+            sample.merge(sampleOf(10, "b", 100));
+            List<String> items = sample.getItems();
+            assertThat(items).hasSize(10);
+            bCount += items.stream().filter("b"::equals).count();
+        }
+        assertThat(bCount / (trials * 10.0)).isBetween(0.08, 0.12);
+    }
+
+    @Test
+    void copyIsIndependent() {
+        ReservoirSample sample = sampleOf(3, "a", 2);
+        ReservoirSample copy = sample.copy();
+        copy.offer("b");
+
+        assertThat(sample.getItems()).containsExactly("a", "a");
+        assertThat(copy.getItems()).containsExactly("a", "a", "b");
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.demo.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RssItemCursorTest {
+
+    @Test
+    void roundTripsThroughUrlSafeString() {
+        RssItemCursor cursor = new RssItemCursor(LocalDateTime.of(2024, 5, 6, 7, 8, 9, 123_000_000),
+                "https://example.com/뉴스?id=1&x=a+b/c");
+
+        String encoded = cursor.encode();
+
+        assertThat(encoded).matches("[A-Za-z0-9_-]+");
+        assertThat(RssItemCursor.decode(encoded)).isEqualTo(cursor);
+    }
+
+    @Test
+    void guidMayContainSeparator() {
+        RssItemCursor cursor = new RssItemCursor(LocalDateTime.of(2024, 1, 1, 0, 0), "line1\nline2");
+
+        assertThat(RssItemCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void rejectsForeignStrings() {
+        assertThatThrownBy(() -> RssItemCursor.decode("not base64!")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RssItemCursor.decode("bm8tc2VwYXJhdG9y")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RssItemCursor.decode("bm90LWEtZGF0ZQpndWlk")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.demo.ingest;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContentHashTest {
+
+    @Test
+    void sameFieldsGiveSameHash() {
+        LocalDateTime date = LocalDateTime.of(2024, 1, 2, 3, 4);
+
+        assertThat(ContentHash.of("title", date, 1)).isEqualTo(ContentHash.of("title", date, 1));
+    }
+
+    @Test
+    void ignoresSurroundingWhitespaceAndCarriageReturns() {
+        assertThat(ContentHash.of("  a\r\nb \t")).isEqualTo(ContentHash.of("a\nb"));
+    }
+
+    @Test
+    void distinguishesNullEmptyAndFieldBoundaries() {
+        assertThat(ContentHash.of((Object) null)).isNotEqualTo(ContentHash.of(""));
+        assertThat(ContentHash.of("ab", "c")).isNotEqualTo(ContentHash.of("a", "bc"));
+        assertThat(ContentHash.of("a", "b")).isNotEqualTo(ContentHash.of("b", "a"));
+        assertThat(ContentHash.of("title")).isNotEqualTo(ContentHash.of("Title"));
+    }
+
+    @Test
+    void usesBothBytesOfEachChar() {
+        // 하위 바이트가 같은 두 글자 (U+AC00, U+0100)
+        assertThat(ContentHash.of("가")).isNotEqualTo(ContentHash.of("Ā"));
+    }
+}
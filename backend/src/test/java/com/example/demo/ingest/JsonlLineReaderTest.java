@@ -0,0 +1,76 @@
+package com.example.demo.ingest;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JsonlLineReaderTest {
+
+    private static JsonlLineReader reader(String content) {
+        return new JsonlLineReader(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void reportsLinesOffsetsAndLineNumbers() throws IOException {
+        JsonlLineReader reader = reader("a\r\n\nbcd\n");
+
+        assertThat(reader.next()).isTrue();
+        assertThat(reader.line()).isEqualTo("a");
+        assertThat(reader.lineNumber()).isEqualTo(1);
+        assertThat(reader.lineOffset()).isZero();
+        assertThat(reader.position()).isEqualTo(3);
+        assertThat(reader.terminated()).isTrue();
+
+        assertThat(reader.next()).isTrue();
+        assertThat(reader.line()).isEmpty();
+        assertThat(reader.lineOffset()).isEqualTo(3);
+
+        assertThat(reader.next()).isTrue();
+        assertThat(reader.line()).isEqualTo("bcd");
+        assertThat(reader.lineNumber()).isEqualTo(3);
+        assertThat(reader.lineOffset()).isEqualTo(4);
+        assertThat(reader.position()).isEqualTo(8);
+
+        assertThat(reader.next()).isFalse();
+        assertThat(reader.line()).isNull();
+    }
+
+    @Test
+    void lastLineWithoutNewlineIsNotTerminated() throws IOException {
+        JsonlLineReader reader = reader("x\n{\"partial\"");
+
+        reader.next();
+        assertThat(reader.next()).isTrue();
+        assertThat(reader.line()).isEqualTo("{\"partial\"");
+        assertThat(reader.terminated()).isFalse();
+        assertThat(reader.next()).isFalse();
+    }
+
+    @Test
+    void readsLinesLongerThanBufferAndMultibyteAcrossBoundaries() throws IOException {
+        // 64KB 버퍼 경계에 3바이트 문자가 걸치도록 만든다
+        String longLine = "a".repeat(64 * 1024 - 1) + "한글".repeat(50_000);
+        JsonlLineReader reader = reader(longLine + "\n끝\n");
+
+        assertThat(reader.next()).isTrue();
+        assertThat(reader.line()).isEqualTo(longLine);
+        assertThat(reader.next()).isTrue();
+        assertThat(reader.line()).isEqualTo("끝");
+        assertThat(reader.lineOffset()).isEqualTo(longLine.getBytes(StandardCharsets.UTF_8).length + 1L);
+    }
+
+    @Test
+    void continuesOffsetsAndLineNumbersFromStartPosition() throws IOException {
+        JsonlLineReader reader = new JsonlLineReader(
+                new ByteArrayInputStream("next\n".getBytes(StandardCharsets.UTF_8)), 100, 7);
+
+        assertThat(reader.next()).isTrue();
+        assertThat(reader.lineNumber()).isEqualTo(8);
+        assertThat(reader.lineOffset()).isEqualTo(100);
+        assertThat(reader.position()).isEqualTo(105);
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.demo.ingest;
+
+import com.example.demo.entity.JsonlData;
+import com.example.demo.service.JsonlDataService;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JsonlRecordMapperTest {
+
+    private final JsonlRecordMapper<JsonlData> mapper = JsonlRecordMapper.builder(JsonlData::new)
+            .text("guid", JsonlData::setGuid)
+            .text("title", JsonlData::setTitle)
+            .text("pub_date", String::trim, JsonlData::setPubDate)
+            .joinedText("tags", ", ", JsonlData::setTags)
+            .build();
+
+    @Test
+    void mapsBoundFieldsAndSkipsOthers() throws IOException {
+        JsonlData data = mapper.map("{\"guid\":\"g1\",\"extra\":{\"a\":[1,{\"b\":2}]},\"title\":\"제목\",\"more\":[1,2]}");
+
+        assertThat(data.getGuid()).isEqualTo("g1");
+        assertThat(data.getTitle()).isEqualTo("제목");
+        assertThat(data.getTags()).isNull();
+    }
+
+    @Test
+    void scalarsBecomeTextAndStructuresBecomeEmpty() throws IOException {
+        assertThat(mapper.map("{\"guid\":42}").getGuid()).isEqualTo("42");
+        assertThat(mapper.map("{\"guid\":true}").getGuid()).isEqualTo("true");
+        assertThat(mapper.map("{\"guid\":{\"x\":1},\"title\":\"t\"}").getGuid()).isEmpty();
+        assertThat(mapper.map("{\"guid\":[1,2],\"title\":\"t\"}").getTitle()).isEqualTo("t");
+    }
+
+    @Test
+    void nullStaysNullAndIsNotConverted() throws IOException {
+        JsonlData data = mapper.map("{\"guid\":null,\"pub_date\":null}");
+
+        assertThat(data.getGuid()).isNull();
+        assertThat(data.getPubDate()).isNull();
+        assertThat(mapper.map("{\"pub_date\":\"  2024-01-01 \"}").getPubDate()).isEqualTo("2024-01-01");
+    }
+
+    @Test
+    void joinsArrayElements() throws IOException {
+        assertThat(mapper.map("{\"tags\":[\"a\",\"b\",null,3]}").getTags()).isEqualTo("a, b, null, 3");
+        assertThat(mapper.map("{\"tags\":[\"only\"]}").getTags()).isEqualTo("only");
+        assertThat(mapper.map("{\"tags\":[]}").getTags()).isEmpty();
+        assertThat(mapper.map("{\"tags\":\"plain\"}").getTags()).isEqualTo("plain");
+    }
+
+    @Test
+    void rejectsNonObjectAndMalformedLines() {
+        assertThatThrownBy(() -> mapper.map("[1,2]")).isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> mapper.map("\"text\"")).isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> mapper.map("{\"guid\":")).isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> mapper.map("{\"guid\" \"g\"}")).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void jsonlDataServiceMapsAllColumns() throws IOException {
+        JsonlData data = new JsonlDataService().parseJsonlData("{\"guid\":\"g\",\"source\":\"s\",\"title\":\"t\","
+                + "\"link\":\"l\",\"pub_date\":\"p\",\"description\":\"d\",\"author\":\"a\",\"category\":\"c\","
+                + "\"tags\":[\"x\",\"y\"],\"group\":\"grp\",\"scraped_at\":\"sa\"}");
+
+        assertThat(data.getGuid()).isEqualTo("g");
+        assertThat(data.getSource()).isEqualTo("s");
+        assertThat(data.getTitle()).isEqualTo("t");
+        assertThat(data.getLink()).isEqualTo("l");
+        assertThat(data.getPubDate()).isEqualTo("p");
+        assertThat(data.getDescription()).isEqualTo("d");
+        assertThat(data.getAuthor()).isEqualTo("a");
+        assertThat(data.getCategory()).isEqualTo("c");
+        assertThat(data.getTags()).isEqualTo("x, y");
+        assertThat(data.getGroupName()).isEqualTo("grp");
+        assertThat(data.getScrapedAt()).isEqualTo("sa");
+    }
+}